@@ -17,6 +17,8 @@ import ru.practicum.shareit.library.api.exception.BadRequestParamException;
 import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.library.api.exception.ProblemDetail;
+import ru.practicum.shareit.library.api.exception.ServiceUnavailableException;
+import ru.practicum.shareit.library.api.exception.TooManyRequestsException;
 
 import javax.validation.ConstraintViolationException;
 import java.util.Map;
@@ -66,6 +68,28 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(ex, problemDetail, new HttpHeaders(), HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Object> tooManyRequestsExceptionHandler(TooManyRequestsException ex, WebRequest request) {
+        ProblemDetail problemDetail = new ProblemDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ((ServletWebRequest) request).getRequest().getRequestURI(),
+                ex.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        log.trace(ex.getMessage());
+        return handleExceptionInternal(ex, problemDetail, headers, HttpStatus.TOO_MANY_REQUESTS, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Object> serviceUnavailableExceptionHandler(ServiceUnavailableException ex, WebRequest request) {
+        ProblemDetail problemDetail = new ProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ((ServletWebRequest) request).getRequest().getRequestURI(),
+                ex.getMessage());
+        log.warn(ex.getMessage());
+        return handleExceptionInternal(ex, problemDetail, new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
         ProblemDetail problemDetail = new ProblemDetail(
@@ -1,6 +1,5 @@
 package ru.practicum.shareit.library.api.booking;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,8 +10,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 
+import java.util.List;
+
+/**
+ * @param <R> тип ответа: ResponseEntity<Object>, в реактивной реализации - Mono<ResponseEntity<Object>>
+ */
 @RequestMapping(path = "/bookings")
-public interface BookingController {
+public interface BookingController<R> {
+    String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    int MAX_BATCH_SIZE = 100;
 
     /**
      * Добавление нового запроса на бронирование. Запрос может быть создан любым пользователем, а затем подтверждён владельцем вещи.
@@ -24,9 +30,23 @@ public interface BookingController {
      * @return BookingDto
      */
     @PostMapping
-    ResponseEntity<Object> createBookingRequest(
+    R createBookingRequest(
             @RequestHeader("X-Sharer-User-Id") long userId, @RequestBody CreateBookingDto createBookingDto);
 
+    /**
+     * Добавление нескольких запросов на бронирование одним вызовом (не более MAX_BATCH_SIZE).
+     * Эндпоинт — POST /bookings/batch.
+     * Каждый запрос проверяется так же, как в POST /bookings; запрос, не прошедший проверку, не создаётся
+     * и не мешает созданию остальных.
+     *
+     * @param userId            id пользователя
+     * @param createBookingDtos List<CreateBookingDto>
+     * @return List<BookingBatchResultDto> в порядке запросов
+     */
+    @PostMapping("/batch")
+    R createBookingRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId, @RequestBody List<CreateBookingDto> createBookingDtos);
+
     /**
      * Подтверждение или отклонение запроса на бронирование. Может быть выполнено только владельцем вещи.
      * Затем статус бронирования становится либо APPROVED, либо REJECTED.
@@ -39,7 +59,7 @@ public interface BookingController {
      * @return BookingDto
      */
     @PatchMapping("/{bookingId}")
-    ResponseEntity<Object> approveBooking(
+    R approveBooking(
             @RequestHeader("X-Sharer-User-Id") long ownerId, @PathVariable long bookingId, @RequestParam boolean approved);
 
     /**
@@ -52,7 +72,7 @@ public interface BookingController {
      * @return BookingDto
      */
     @GetMapping("/{bookingId}")
-    ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long bookingId);
+    R getBookingById(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long bookingId);
 
     /**
      * Получение списка всех бронирований текущего пользователя.
@@ -60,17 +80,23 @@ public interface BookingController {
      * Параметр state необязательный и по умолчанию равен ALL (англ. «все»).
      * Также он может принимать значения CURRENT («текущие»), PAST («завершённые»), FUTURE («будущие»),
      * WAITING («ожидающие подтверждения»), REJECTED (англ. «отклонённые»).
+     * Если указан параметр after, параметр from игнорируется и возвращается страница, следующая за курсором.
+     * Курсор следующей страницы возвращается в заголовке X-Next-Cursor, если страница заполнена полностью.
      *
      * @param userId id пользователя
      * @param state  состояние бронирования
+     * @param from   смещение от начала списка
+     * @param size   размер страницы
+     * @param after  курсор, полученный в заголовке X-Next-Cursor предыдущего ответа
      * @return List<BookingDto> отсортированный по дате от более новых к более старым
      */
     @GetMapping
-    ResponseEntity<Object> getUserBookings(
+    R getUserBookings(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "20") int size);
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String after);
 
     /**
      * Получение списка бронирований для всех вещей текущего пользователя.
@@ -79,15 +105,20 @@ public interface BookingController {
      * Параметр state необязательный и по умолчанию равен ALL (англ. «все»).
      * Также он может принимать значения CURRENT («текущие»), PAST («завершённые»), FUTURE («будущие»),
      * WAITING («ожидающие подтверждения»), REJECTED (англ. «отклонённые»).
+     * Постраничный вывод - аналогично GET /bookings.
      *
      * @param ownerId id владельца вещи
      * @param state   состояние бронирования
+     * @param from    смещение от начала списка
+     * @param size    размер страницы
+     * @param after   курсор, полученный в заголовке X-Next-Cursor предыдущего ответа
      * @return List<BookingDto>
      */
     @GetMapping("/owner")
-    ResponseEntity<Object> getOwnerBookings(
+    R getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") long ownerId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "20") int size);
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String after);
 }
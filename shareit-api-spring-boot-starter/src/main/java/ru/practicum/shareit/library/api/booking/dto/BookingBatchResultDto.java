@@ -0,0 +1,27 @@
+package ru.practicum.shareit.library.api.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+import org.springframework.lang.Nullable;
+
+/**
+ * Результат создания одного бронирования из пакета (POST /bookings/batch): статус HTTP, который вернул бы
+ * POST /bookings, и созданное бронирование или сообщение об ошибке.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@Builder
+@Jacksonized
+public class BookingBatchResultDto {
+    private final int status;
+    @Nullable
+    private final BookingDto booking;
+    @Nullable
+    private final String error;
+}
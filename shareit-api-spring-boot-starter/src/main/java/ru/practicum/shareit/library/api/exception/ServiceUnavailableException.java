@@ -0,0 +1,7 @@
+package ru.practicum.shareit.library.api.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.library.api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    /**
+     * Через сколько секунд повторить запрос (заголовок Retry-After).
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
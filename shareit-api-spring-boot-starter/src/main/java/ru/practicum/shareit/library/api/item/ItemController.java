@@ -1,6 +1,5 @@
 package ru.practicum.shareit.library.api.item;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +12,11 @@ import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
+/**
+ * @param <R> тип ответа: ResponseEntity<Object>, в реактивной реализации - Mono<ResponseEntity<Object>>
+ */
 @RequestMapping("/items")
-public interface ItemController {
+public interface ItemController<R> {
     /**
      * Добавление новой вещи.
      * Эндпойнт POST /items.
@@ -24,8 +26,8 @@ public interface ItemController {
      * @return ItemSimpleDto
      */
     @PostMapping
-    ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                      @RequestBody CreateItemDto createItemDto);
+    R createItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                 @RequestBody CreateItemDto createItemDto);
 
     /**
      * Просмотр информации о конкретной вещи по её идентификатору.
@@ -37,8 +39,8 @@ public interface ItemController {
      * @return ItemDto
      */
     @GetMapping("/{itemId}")
-    ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                       @PathVariable long itemId);
+    R getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
+                  @PathVariable long itemId);
 
     /**
      * Редактирование вещи.
@@ -52,9 +54,9 @@ public interface ItemController {
      * @return ItemDto
      */
     @PatchMapping("/{itemId}")
-    ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                      @PathVariable long itemId,
-                                      @RequestBody UpdateItemDto updateItemDto);
+    R updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                 @PathVariable long itemId,
+                 @RequestBody UpdateItemDto updateItemDto);
 
     /**
      * Просмотр владельцем списка всех его вещей с указанием названия и описания для каждой.
@@ -64,7 +66,7 @@ public interface ItemController {
      * @return List<ItemDto>
      */
     @GetMapping
-    ResponseEntity<Object> getOwnedItems(
+    R getOwnedItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "20") int size);
@@ -80,7 +82,7 @@ public interface ItemController {
      * @return List<ItemSimpleDto>
      */
     @GetMapping("/search")
-    ResponseEntity<Object> searchItems(
+    R searchItems(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam String text,
             @RequestParam(required = false, defaultValue = "0") int from,
@@ -96,7 +98,24 @@ public interface ItemController {
      * @return CommentDto
      */
     @PostMapping("/{itemId}/comment")
-    ResponseEntity<Object> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PathVariable long itemId,
-                                         @RequestBody CreateCommentDto createCommentDto);
+    R createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                    @PathVariable long itemId,
+                    @RequestBody CreateCommentDto createCommentDto);
+
+    /**
+     * Занятые и свободные интервалы вещи в заданном окне времени.
+     * Эндпойнт GET /items/{itemId}/availability?from={from}&to={to}.
+     * Занятыми считаются подтверждённые и ожидающие подтверждения бронирования.
+     *
+     * @param userId id пользователя, отправившего запрос (любой)
+     * @param itemId id вещи
+     * @param from   начало окна, yyyy-MM-dd'T'HH:mm:ss
+     * @param to     окончание окна, yyyy-MM-dd'T'HH:mm:ss
+     * @return ItemAvailabilityDto
+     */
+    @GetMapping("/{itemId}/availability")
+    R getItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                          @PathVariable long itemId,
+                          @RequestParam String from,
+                          @RequestParam String to);
 }
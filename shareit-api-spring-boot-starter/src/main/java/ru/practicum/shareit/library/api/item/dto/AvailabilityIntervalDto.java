@@ -0,0 +1,17 @@
+package ru.practicum.shareit.library.api.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@Builder
+public class AvailabilityIntervalDto {
+    private final String start;
+    private final String end;
+    private final Long bookingId;
+    private final String status;
+}
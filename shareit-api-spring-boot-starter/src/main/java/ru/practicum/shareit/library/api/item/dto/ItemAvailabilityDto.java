@@ -0,0 +1,20 @@
+package ru.practicum.shareit.library.api.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@Builder
+public class ItemAvailabilityDto {
+    private final Long itemId;
+    private final String from;
+    private final String to;
+    private final List<AvailabilityIntervalDto> busy;
+    private final List<AvailabilityIntervalDto> free;
+}
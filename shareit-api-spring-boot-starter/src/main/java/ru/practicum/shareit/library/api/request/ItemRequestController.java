@@ -1,6 +1,5 @@
 package ru.practicum.shareit.library.api.request;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -10,8 +9,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
 
+/**
+ * @param <R> тип ответа: ResponseEntity<Object>, в реактивной реализации - Mono<ResponseEntity<Object>>
+ */
 @RequestMapping(path = "/requests")
-public interface ItemRequestController {
+public interface ItemRequestController<R> {
 
     /**
      * Добавить новый запрос вещи
@@ -22,7 +24,7 @@ public interface ItemRequestController {
      * @return ItemRequestDto
      */
     @PostMapping
-    ResponseEntity<Object> createItemRequest(
+    R createItemRequest(
             @RequestHeader("X-Sharer-User-Id") long userId, @RequestBody CreateItemRequestDto dto);
 
     /**
@@ -33,7 +35,7 @@ public interface ItemRequestController {
      * @return List<ItemRequestDto>
      */
     @GetMapping
-    ResponseEntity<Object> getOwnedItemRequests(@RequestHeader("X-Sharer-User-Id") long ownerId);
+    R getOwnedItemRequests(@RequestHeader("X-Sharer-User-Id") long ownerId);
 
     /**
      * Получить список запросов, созданных другими пользователями.
@@ -48,7 +50,7 @@ public interface ItemRequestController {
      * @return List<ItemRequestDto>
      */
     @GetMapping("/all")
-    ResponseEntity<Object> getItemRequests(
+    R getItemRequests(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "20") int size);
@@ -62,6 +64,6 @@ public interface ItemRequestController {
      * @return ItemRequestDto
      */
     @GetMapping("/{requestId}")
-    ResponseEntity<Object> getItemRequestById(
+    R getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long requestId);
 }
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.library.api.thread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Доступ к виртуальным потокам (Java 21+) без зависимости сборки от новой версии JDK.
+ */
+public final class VirtualThreads {
+    private static final String FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        try {
+            newExecutor().shutdown();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     *
+     * @throws IllegalStateException если JVM не поддерживает виртуальные потоки
+     */
+    public static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod(FACTORY_METHOD);
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(String.format(
+                    "Виртуальные потоки требуют Java 21 или новее, текущая версия: %s", Runtime.version()), e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package ru.practicum.shareit.library.api.user;
 
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,8 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
 import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
 
+/**
+ * @param <R> тип ответа: ResponseEntity<Object>, в реактивной реализации - Mono<ResponseEntity<Object>>
+ */
 @RequestMapping(path = "/users")
-public interface UserController {
+public interface UserController<R> {
 
     /**
      * Добавление нового пользователя.
@@ -22,7 +24,7 @@ public interface UserController {
      * @return UserDto добавленного пользователя
      */
     @PostMapping
-    ResponseEntity<Object> createUser(@RequestBody CreateUserDto createUserDto);
+    R createUser(@RequestBody CreateUserDto createUserDto);
 
     /**
      * Просмотр информации о конкретном пользователе по его идентификатору.
@@ -32,7 +34,7 @@ public interface UserController {
      * @return UserDto
      */
     @GetMapping("/{id}")
-    ResponseEntity<Object> getUserById(@PathVariable long id);
+    R getUserById(@PathVariable long id);
 
     /**
      * Просмотр списка всех пользователей.
@@ -41,7 +43,7 @@ public interface UserController {
      * @return List<UserDto>
      */
     @GetMapping
-    ResponseEntity<Object> getAllUsers();
+    R getAllUsers();
 
     /**
      * Редактирование пользователя.
@@ -52,7 +54,7 @@ public interface UserController {
      * @return UserDto обновлённого пользователя
      */
     @PatchMapping("/{id}")
-    ResponseEntity<Object> updateUser(@PathVariable long id, @RequestBody UpdateUserDto updateUserDto);
+    R updateUser(@PathVariable long id, @RequestBody UpdateUserDto updateUserDto);
 
     /**
      * Удаление пользователя.
@@ -62,5 +64,5 @@ public interface UserController {
      * @return UserDto удалённого пользователя
      */
     @DeleteMapping("/{id}")
-    ResponseEntity<Object> deleteUser(@PathVariable long id);
+    R deleteUser(@PathVariable long id);
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.library.api.wire;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Конвертер Smile (application/x-jackson-smile) с настройками Jackson приложения.
+ * Попадает в HttpMessageConverters после JSON: Smile выбирается только по явному Accept или Content-Type,
+ * остальные клиенты по-прежнему получают JSON. Используется и Spring MVC, и RestTemplateBuilder.
+ */
+@Configuration
+@ConditionalOnClass(SmileFactory.class)
+@AutoConfigureAfter(JacksonAutoConfiguration.class)
+public class SmileAutoConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(Jackson2ObjectMapperBuilder.class)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+
+        return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder
+                .factory(new SmileFactory())
+                .build());
+    }
+}
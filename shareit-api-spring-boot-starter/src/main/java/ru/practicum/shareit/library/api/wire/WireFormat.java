@@ -0,0 +1,21 @@
+package ru.practicum.shareit.library.api.wire;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Формат тел запросов и ответов между шлюзом и сервером.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+
+    /**
+     * Бинарный JSON (Smile): та же модель данных Jackson, меньше байт и быстрее разбор.
+     */
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+}
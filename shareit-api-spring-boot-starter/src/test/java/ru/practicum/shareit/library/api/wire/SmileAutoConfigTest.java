@@ -0,0 +1,61 @@
+package ru.practicum.shareit.library.api.wire;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmileAutoConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class,
+                    SmileAutoConfig.class));
+
+    @Test
+    void converters_ifSmileConfigured_thenSmileAfterJson() {
+        contextRunner.run(context -> {
+            List<HttpMessageConverter<?>> converters = context.getBean(HttpMessageConverters.class).getConverters();
+            MappingJackson2SmileHttpMessageConverter smile = context.getBean(
+                    MappingJackson2SmileHttpMessageConverter.class);
+
+            int jsonIndex = -1;
+            for (int i = 0; i < converters.size(); i++) {
+                if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                    jsonIndex = i;
+                    break;
+                }
+            }
+            assertTrue(jsonIndex >= 0);
+            assertTrue(converters.indexOf(smile) > jsonIndex);
+        });
+    }
+
+    @Test
+    void toJson_ifSmileWrittenWithApplicationSettings_thenSameJsonAsJsonConverter() {
+        contextRunner.run(context -> {
+            Map<String, Object> value = Map.of("created", LocalDateTime.of(2022, 9, 1, 12, 0), "text", "дрель");
+            byte[] smile = context.getBean(MappingJackson2SmileHttpMessageConverter.class)
+                    .getObjectMapper()
+                    .writeValueAsBytes(value);
+            String json = context.getBean(MappingJackson2HttpMessageConverter.class)
+                    .getObjectMapper()
+                    .writeValueAsString(value);
+
+            assertEquals(json, new String(SmileTranscoder.toJson(smile), StandardCharsets.UTF_8));
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.library.api.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.library.api.booking.dto.BookingDto;
+import ru.practicum.shareit.library.api.item.dto.BookingInfoDto;
+import ru.practicum.shareit.library.api.item.dto.CommentDto;
+import ru.practicum.shareit.library.api.item.dto.ItemDto;
+import ru.practicum.shareit.library.api.item.dto.ItemSimpleDto;
+import ru.practicum.shareit.library.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.library.api.user.dto.UserDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Сериализация DTO в JSON и Smile, разбор ответа так, как его читает шлюз (в Map), и перекодирование
+ * Smile в JSON для внешних клиентов. Размер тела в байтах печатается при подготовке.
+ * Запуск с профилировщиком выделения памяти (gc.alloc.rate.norm - байт на операцию):
+ * mvn -pl shareit-api-spring-boot-starter test -Dtest=WireFormatBenchmarkTest -Dshareit.benchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final String DATE = "2022-09-01T12:00:00";
+
+    @Param({"user", "booking", "item", "request", "items20"})
+    private String payload;
+
+    private Object dto;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter smileWriter;
+    private ObjectReader jsonReader;
+    private ObjectReader smileReader;
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        dto = payload(payload);
+        jsonWriter = jsonMapper.writer();
+        smileWriter = smileMapper.writer();
+        jsonReader = jsonMapper.readerFor(Object.class);
+        smileReader = smileMapper.readerFor(Object.class);
+        json = jsonWriter.writeValueAsBytes(dto);
+        smile = smileWriter.writeValueAsBytes(dto);
+        System.out.printf("%n%s: json %d B, smile %d B%n", payload, json.length, smile.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonWriter.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public byte[] writeSmile() throws IOException {
+        return smileWriter.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public Object readJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public Object readSmile() throws IOException {
+        return smileReader.readValue(smile);
+    }
+
+    @Benchmark
+    public byte[] smileToJson() throws IOException {
+        return SmileTranscoder.toJson(smile);
+    }
+
+    private static Object payload(String name) {
+        switch (name) {
+            case "user":
+                return user(1);
+            case "booking":
+                return BookingDto.builder()
+                        .id(1L)
+                        .start(DATE)
+                        .end(DATE)
+                        .status("APPROVED")
+                        .booker(user(2))
+                        .item(itemSimple(1))
+                        .build();
+            case "item":
+                return item(1);
+            case "request":
+                return ItemRequestDto.builder()
+                        .id(1L)
+                        .description("Нужна дрель на выходные")
+                        .created(DATE)
+                        .items(IntStream.rangeClosed(1, 5)
+                                .mapToObj(WireFormatBenchmark::itemSimple)
+                                .collect(Collectors.toList()))
+                        .build();
+            case "items20":
+                return IntStream.rangeClosed(1, 20)
+                        .mapToObj(WireFormatBenchmark::item)
+                        .collect(Collectors.toList());
+            default:
+                throw new IllegalArgumentException(name);
+        }
+    }
+
+    private static UserDto user(long id) {
+        return new UserDto(id, "user" + id, "user" + id + "@mail.ru");
+    }
+
+    private static ItemSimpleDto itemSimple(long id) {
+        return new ItemSimpleDto(id, "Дрель " + id, "Ударная дрель, 800 Вт", true, 1L);
+    }
+
+    private static ItemDto item(long id) {
+        return ItemDto.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Ударная дрель, 800 Вт")
+                .available(true)
+                .lastBooking(new BookingInfoDto(1L, 2L, DATE, DATE))
+                .nextBooking(new BookingInfoDto(2L, 3L, DATE, DATE))
+                .comments(List.of(
+                        new CommentDto(1L, "Отличная дрель", "user2", DATE),
+                        new CommentDto(2L, "Сверлит бетон без проблем", "user3", DATE),
+                        new CommentDto(3L, "Вернул вовремя", "user4", DATE)))
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.library.api.wire;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск {@link WireFormatBenchmark} из Maven; по умолчанию пропускается.
+ */
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class WireFormatBenchmarkTest {
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,178 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Фабрика запросов, отправляющая каждый запрос на экземпляр сервера, выбранный {@link ServerLoadBalancer}:
+ * в адресе заменяются схема, хост и порт. Тело запроса накапливается до отправки.
+ * Если экземпляр недоступен, безопасные запросы (GET, HEAD, OPTIONS) повторяются один раз на другом,
+ * остальные не повторяются: сервер мог уже выполнить их.
+ */
+@RequiredArgsConstructor
+public class LoadBalancingClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private static final Set<HttpMethod> RETRIED_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+    private static final Set<HttpStatus> FAILURE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final ClientHttpRequestFactory delegate;
+    private final ServerLoadBalancer loadBalancer;
+
+    @Override
+    @NonNull
+    public ClientHttpRequest createRequest(@NonNull URI uri, @NonNull HttpMethod httpMethod) {
+        return new LoadBalancedRequest(uri, httpMethod);
+    }
+
+    @RequiredArgsConstructor
+    private class LoadBalancedRequest implements ClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        @NonNull
+        public ClientHttpResponse execute() throws IOException {
+            ServerEndpoint endpoint = loadBalancer.choose(null);
+            try {
+                return executeOn(endpoint);
+            } catch (IOException e) {
+                ServerEndpoint other = RETRIED_METHODS.contains(method) ? loadBalancer.choose(endpoint) : endpoint;
+                if (other == endpoint) {
+                    throw e;
+                }
+                return executeOn(other);
+            }
+        }
+
+        private ClientHttpResponse executeOn(ServerEndpoint endpoint) throws IOException {
+            URI target = UriComponentsBuilder.fromUri(uri)
+                    .scheme(endpoint.getUri().getScheme())
+                    .host(endpoint.getUri().getHost())
+                    .port(endpoint.getUri().getPort())
+                    .build(true)
+                    .toUri();
+            ClientHttpRequest request = delegate.createRequest(target, method);
+            request.getHeaders().putAll(headers);
+            if (body.size() > 0) {
+                body.writeTo(request.getBody());
+            }
+
+            endpoint.onRequestStarted();
+            ClientHttpResponse response;
+            try {
+                response = request.execute();
+            } catch (IOException e) {
+                endpoint.onRequestCompleted();
+                loadBalancer.onFailure(endpoint);
+                throw e;
+            } catch (RuntimeException e) {
+                endpoint.onRequestCompleted();
+                throw e;
+            }
+            HttpStatus status = HttpStatus.resolve(response.getRawStatusCode());
+            if (status != null && FAILURE_STATUSES.contains(status)) {
+                loadBalancer.onFailure(endpoint);
+            } else {
+                loadBalancer.onSuccess(endpoint);
+            }
+            return new TrackedResponse(response, endpoint);
+        }
+
+        @Override
+        @NonNull
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        @NonNull
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        @NonNull
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        @NonNull
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    /**
+     * Ответ, закрытие которого завершает запрос к экземпляру.
+     */
+    @RequiredArgsConstructor
+    private static class TrackedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final ServerEndpoint endpoint;
+        private boolean closed;
+
+        @Override
+        @NonNull
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        @NonNull
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        @NonNull
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    endpoint.onRequestCompleted();
+                }
+            }
+        }
+    }
+}
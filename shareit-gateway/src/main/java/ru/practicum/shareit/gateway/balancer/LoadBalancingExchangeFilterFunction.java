@@ -0,0 +1,96 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * То же, что {@link LoadBalancingClientHttpRequestFactory}, для WebClient (профиль reactive):
+ * каждый запрос отправляется на экземпляр, выбранный {@link ServerLoadBalancer}, безопасные запросы
+ * при недоступности экземпляра повторяются один раз на другом. Запрос к экземпляру завершается
+ * вместе с чтением тела ответа.
+ */
+@RequiredArgsConstructor
+public class LoadBalancingExchangeFilterFunction implements ExchangeFilterFunction {
+    private static final Set<HttpMethod> RETRIED_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+    private static final Set<HttpStatus> FAILURE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final ServerLoadBalancer loadBalancer;
+
+    @Override
+    @NonNull
+    public Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerEndpoint endpoint = loadBalancer.choose(null);
+            return exchangeOn(endpoint, request, next)
+                    .onErrorResume(WebClientRequestException.class, e -> {
+                        ServerEndpoint other = RETRIED_METHODS.contains(request.method())
+                                ? loadBalancer.choose(endpoint) : endpoint;
+                        if (other == endpoint) {
+                            return Mono.error(e);
+                        }
+                        return exchangeOn(other, request, next);
+                    });
+        });
+    }
+
+    private Mono<ClientResponse> exchangeOn(ServerEndpoint endpoint, ClientRequest request, ExchangeFunction next) {
+        URI target = UriComponentsBuilder.fromUri(request.url())
+                .scheme(endpoint.getUri().getScheme())
+                .host(endpoint.getUri().getHost())
+                .port(endpoint.getUri().getPort())
+                .build(true)
+                .toUri();
+        ClientRequest balanced = ClientRequest.from(request)
+                .url(target)
+                .build();
+        return Mono.defer(() -> {
+            AtomicBoolean responded = new AtomicBoolean();
+            AtomicBoolean completed = new AtomicBoolean();
+            Runnable complete = () -> {
+                if (completed.compareAndSet(false, true)) {
+                    endpoint.onRequestCompleted();
+                }
+            };
+            endpoint.onRequestStarted();
+            return next.exchange(balanced)
+                    .map(response -> {
+                        responded.set(true);
+                        HttpStatus status = HttpStatus.resolve(response.rawStatusCode());
+                        if (status != null && FAILURE_STATUSES.contains(status)) {
+                            loadBalancer.onFailure(endpoint);
+                        } else {
+                            loadBalancer.onSuccess(endpoint);
+                        }
+                        return response.mutate()
+                                .body(body -> body.doOnTerminate(complete).doOnCancel(complete))
+                                .build();
+                    })
+                    .doOnError(e -> {
+                        complete.run();
+                        if (e instanceof WebClientRequestException) {
+                            loadBalancer.onFailure(endpoint);
+                        }
+                    })
+                    // после ответа запрос завершается чтением или отменой чтения тела
+                    .doOnCancel(() -> {
+                        if (!responded.get()) {
+                            complete.run();
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр сервера: число выполняющихся запросов и ошибки подряд для пассивной проверки здоровья.
+ */
+public class ServerEndpoint {
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean ejected;
+    // nanoTime, до которого экземпляр исключён из распределения
+    private volatile long ejectedUntil;
+
+    public ServerEndpoint(URI uri) {
+        this.uri = uri;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getOutstandingRequests() {
+        return outstanding.get();
+    }
+
+    public boolean isAvailable(long now) {
+        return !ejected || now - ejectedUntil >= 0;
+    }
+
+    void onRequestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void onRequestCompleted() {
+        outstanding.decrementAndGet();
+    }
+
+    AtomicInteger getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    void eject(long until) {
+        ejectedUntil = until;
+        ejected = true;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Выбор экземпляра сервера по принципу «лучший из двух случайных»: из двух доступных экземпляров
+ * берётся тот, у которого меньше выполняющихся запросов. Экземпляр, ответивший ошибкой max-failures
+ * раз подряд, исключается на ejection-time. Если исключены все, выбор идёт среди всех.
+ */
+public class ServerLoadBalancer {
+    private final List<ServerEndpoint> endpoints;
+    private final int maxFailures;
+    private final long ejectionNanos;
+    private final LongSupplier nanoTime;
+
+    public ServerLoadBalancer(List<String> urls, ShareItServerProperties.LoadBalancer properties) {
+        this(urls, properties, System::nanoTime);
+    }
+
+    ServerLoadBalancer(List<String> urls, ShareItServerProperties.LoadBalancer properties, LongSupplier nanoTime) {
+        this.endpoints = urls.stream()
+                .map(url -> new ServerEndpoint(URI.create(url)))
+                .collect(Collectors.toUnmodifiableList());
+        this.maxFailures = Math.max(1, properties.getMaxFailures());
+        this.ejectionNanos = properties.getEjectionTime().toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * @param excluded экземпляр, который уже не ответил на этот запрос
+     * @return экземпляр для запроса; excluded, только если других нет
+     */
+    public ServerEndpoint choose(@Nullable ServerEndpoint excluded) {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        final long now = nanoTime.getAsLong();
+        List<ServerEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (ServerEndpoint endpoint : endpoints) {
+            if (endpoint != excluded && endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServerEndpoint endpoint : endpoints) {
+                if (endpoint != excluded) {
+                    candidates.add(endpoint);
+                }
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerEndpoint a = candidates.get(first);
+        ServerEndpoint b = candidates.get(second);
+        return a.getOutstandingRequests() <= b.getOutstandingRequests() ? a : b;
+    }
+
+    public void onSuccess(ServerEndpoint endpoint) {
+        endpoint.getConsecutiveFailures().set(0);
+    }
+
+    public void onFailure(ServerEndpoint endpoint) {
+        if (endpoint.getConsecutiveFailures().incrementAndGet() >= maxFailures) {
+            endpoint.eject(nanoTime.getAsLong() + ejectionNanos);
+            // после возвращения экземпляр снова исключается первой же ошибкой
+            endpoint.getConsecutiveFailures().set(maxFailures - 1);
+        }
+    }
+}
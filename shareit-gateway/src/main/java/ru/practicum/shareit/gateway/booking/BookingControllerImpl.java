@@ -3,16 +3,20 @@ package ru.practicum.shareit.gateway.booking;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.booking.service.BookingClient;
 import ru.practicum.shareit.library.api.booking.BookingController;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 
+import java.util.List;
+
 @Tag(name = "Бронирования", description = "API для работы с бронированиями")
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-public class BookingControllerImpl implements BookingController {
+public class BookingControllerImpl implements BookingController<ResponseEntity<Object>> {
     private final BookingClient bookingClient;
 
     @Override
@@ -21,6 +25,12 @@ public class BookingControllerImpl implements BookingController {
         return bookingClient.createBookingRequest(userId, createBookingDto);
     }
 
+    @Override
+    @Operation(summary = "Добавление нескольких запросов на бронирование")
+    public ResponseEntity<Object> createBookingRequests(long userId, List<CreateBookingDto> createBookingDtos) {
+        return bookingClient.createBookingRequests(userId, createBookingDtos);
+    }
+
     @Override
     @Operation(summary = "Подтверждение или отклонение запроса на бронирование")
     public ResponseEntity<Object> approveBooking(long ownerId, long bookingId, boolean approved) {
@@ -35,13 +45,13 @@ public class BookingControllerImpl implements BookingController {
 
     @Override
     @Operation(summary = "Получение бронирований текущего пользователя")
-    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size) {
-        return bookingClient.getUserBookings(userId, state, from, size);
+    public ResponseEntity<Object> getUserBookings(long userId, String state, int from, int size, String after) {
+        return bookingClient.getUserBookings(userId, state, from, size, after);
     }
 
     @Override
     @Operation(summary = "Получение бронирований для всех вещей пользователя")
-    public ResponseEntity<Object> getOwnerBookings(long ownerId, String state, int from, int size) {
-        return bookingClient.getOwnerBookings(ownerId, state, from, size);
+    public ResponseEntity<Object> getOwnerBookings(long ownerId, String state, int from, int size, String after) {
+        return bookingClient.getOwnerBookings(ownerId, state, from, size, after);
     }
 }
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.gateway.booking;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.booking.service.ReactiveBookingClient;
+import ru.practicum.shareit.library.api.booking.BookingController;
+import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
+
+import java.util.List;
+
+@Tag(name = "Бронирования", description = "API для работы с бронированиями")
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookingControllerImpl implements BookingController<Mono<ResponseEntity<Object>>> {
+    private final ReactiveBookingClient bookingClient;
+
+    @Override
+    @Operation(summary = "Добавление нового запроса на бронирование")
+    public Mono<ResponseEntity<Object>> createBookingRequest(long userId, CreateBookingDto createBookingDto) {
+        return bookingClient.createBookingRequest(userId, createBookingDto);
+    }
+
+    @Override
+    @Operation(summary = "Добавление нескольких запросов на бронирование")
+    public Mono<ResponseEntity<Object>> createBookingRequests(long userId, List<CreateBookingDto> createBookingDtos) {
+        return bookingClient.createBookingRequests(userId, createBookingDtos);
+    }
+
+    @Override
+    @Operation(summary = "Подтверждение или отклонение запроса на бронирование")
+    public Mono<ResponseEntity<Object>> approveBooking(long ownerId, long bookingId, boolean approved) {
+        return bookingClient.approveBooking(ownerId, bookingId, approved);
+    }
+
+    @Override
+    @Operation(summary = "Получение данных о бронировании по id")
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, long bookingId) {
+        return bookingClient.getBookingById(userId, bookingId);
+    }
+
+    @Override
+    @Operation(summary = "Получение бронирований текущего пользователя")
+    public Mono<ResponseEntity<Object>> getUserBookings(long userId, String state, int from, int size, String after) {
+        return bookingClient.getUserBookings(userId, state, from, size, after);
+    }
+
+    @Override
+    @Operation(summary = "Получение бронирований для всех вещей пользователя")
+    public Mono<ResponseEntity<Object>> getOwnerBookings(long ownerId, String state, int from, int size, String after) {
+        return bookingClient.getOwnerBookings(ownerId, state, from, size, after);
+    }
+}
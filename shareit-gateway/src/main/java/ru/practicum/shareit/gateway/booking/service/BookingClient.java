@@ -1,24 +1,38 @@
 package ru.practicum.shareit.gateway.booking.service;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.library.api.booking.BookingController;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 public interface BookingClient {
 
     ResponseEntity<Object> createBookingRequest(@Valid @Positive long userId, @Valid CreateBookingDto createBookingDto);
 
+    /**
+     * Запросы пакета проверяются сервером по отдельности: ошибка одного не отклоняет весь пакет.
+     */
+    ResponseEntity<Object> createBookingRequests(
+            @Valid @Positive long userId,
+            @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE) List<CreateBookingDto> createBookingDtos);
+
     ResponseEntity<Object> approveBooking(
             @Valid @Positive long ownerId, @Valid @Positive long bookingId, boolean approved);
 
     ResponseEntity<Object> getBookingById(@Valid @Positive long userId, @Valid @Positive long bookingId);
 
     ResponseEntity<Object> getUserBookings(
-            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size);
+            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after);
 
     ResponseEntity<Object> getOwnerBookings(
-            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size);
+            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after);
 }
@@ -1,47 +1,88 @@
 package ru.practicum.shareit.gateway.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.GatewayResponseCache;
+import ru.practicum.shareit.gateway.client.ServerCallGuards;
+import ru.practicum.shareit.gateway.client.SingleFlight;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.booking.BookingController;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.library.api.exception.BadRequestParamException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
 @Validated
+@Profile("!reactive")
 public class BookingClientImpl extends BaseClient implements BookingClient {
     private static final String API_PREFIX = "/bookings";
+    // вещь содержит последнее и следующее бронирование
+    private static final String ITEMS_PREFIX = "/items";
 
     private static final Pattern STATE_FILTER_PATTERN =
             Pattern.compile("^(ALL|CURRENT|PAST|FUTURE|WAITING|REJECTED)$", Pattern.CASE_INSENSITIVE);
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public BookingClientImpl(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClientImpl(ShareItServerProperties properties, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache,
+                             SingleFlight singleFlight, ServerCallGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                singleFlight,
+                guards.forGroup("bookings")
         );
+        this.responseCache = responseCache;
     }
 
     @Override
     public ResponseEntity<Object> createBookingRequest(
             @Valid @Positive long userId, @Valid CreateBookingDto createBookingDto) {
 
-        return post("", userId, createBookingDto);
+        ResponseEntity<Object> response = post("", userId, createBookingDto);
+        if (createBookingDto.getItemId() != null) {
+            responseCache.evict(String.format("%s/%d", ITEMS_PREFIX, createBookingDto.getItemId()));
+        }
+        return response;
+    }
+
+    @Override
+    public ResponseEntity<Object> createBookingRequests(
+            @Valid @Positive long userId,
+            @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE) List<CreateBookingDto> createBookingDtos) {
+
+        ResponseEntity<Object> response = post("/batch", userId, createBookingDtos);
+        createBookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(CreateBookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(itemId -> responseCache.evict(String.format("%s/%d", ITEMS_PREFIX, itemId)));
+        return response;
     }
 
     @Override
@@ -49,7 +90,11 @@ public class BookingClientImpl extends BaseClient implements BookingClient {
             @Valid @Positive long ownerId, @Valid @Positive long bookingId, boolean approved) {
 
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch(String.format("/%d?approved={approved}", bookingId), ownerId, parameters, null);
+        ResponseEntity<Object> response =
+                patch(String.format("/%d?approved={approved}", bookingId), ownerId, parameters, null);
+        // id вещи в запросе неизвестен
+        responseCache.evictByPrefix(ITEMS_PREFIX + "/");
+        return response;
     }
 
     @Override
@@ -59,33 +104,45 @@ public class BookingClientImpl extends BaseClient implements BookingClient {
 
     @Override
     public ResponseEntity<Object> getUserBookings(
-            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size) {
+            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after) {
 
         Matcher matcher = STATE_FILTER_PATTERN.matcher(state);
         if (!matcher.matches()) {
             throw new BadRequestParamException(String.format("Unknown state: %s", state));
         }
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}&state={state}", userId, parameters);
+        ));
+        String path = "?from={from}&size={size}&state={state}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
     }
 
     @Override
     public ResponseEntity<Object> getOwnerBookings(
-            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size) {
+            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after) {
 
         Matcher matcher = STATE_FILTER_PATTERN.matcher(state);
         if (!matcher.matches()) {
             throw new BadRequestParamException(String.format("Unknown state: %s", state));
         }
-        Map<String, Object> parameters = Map.of(
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?from={from}&size={size}&state={state}", ownerId, parameters);
+        ));
+        String path = "/owner?from={from}&size={size}&state={state}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, ownerId, parameters);
     }
 }
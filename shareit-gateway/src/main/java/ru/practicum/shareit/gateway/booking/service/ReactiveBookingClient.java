@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.booking.service;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.library.api.booking.BookingController;
+import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Неблокирующий вариант BookingClient (профиль reactive).
+ */
+public interface ReactiveBookingClient {
+
+    Mono<ResponseEntity<Object>> createBookingRequest(
+            @Valid @Positive long userId, @Valid CreateBookingDto createBookingDto);
+
+    Mono<ResponseEntity<Object>> createBookingRequests(
+            @Valid @Positive long userId,
+            @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE) List<CreateBookingDto> createBookingDtos);
+
+    Mono<ResponseEntity<Object>> approveBooking(
+            @Valid @Positive long ownerId, @Valid @Positive long bookingId, boolean approved);
+
+    Mono<ResponseEntity<Object>> getBookingById(@Valid @Positive long userId, @Valid @Positive long bookingId);
+
+    Mono<ResponseEntity<Object>> getUserBookings(
+            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after);
+
+    Mono<ResponseEntity<Object>> getOwnerBookings(
+            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after);
+}
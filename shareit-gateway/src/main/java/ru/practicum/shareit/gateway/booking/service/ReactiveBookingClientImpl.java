@@ -0,0 +1,120 @@
+package ru.practicum.shareit.gateway.booking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.client.ReactiveBaseClient;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.booking.BookingController;
+import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.library.api.exception.BadRequestParamException;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@Validated
+@Profile("reactive")
+public class ReactiveBookingClientImpl extends ReactiveBaseClient implements ReactiveBookingClient {
+    private static final String API_PREFIX = "/bookings";
+
+    private static final Pattern STATE_FILTER_PATTERN =
+            Pattern.compile("^(ALL|CURRENT|PAST|FUTURE|WAITING|REJECTED)$", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    public ReactiveBookingClientImpl(ShareItServerProperties properties, WebClient.Builder builder,
+                                     ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createBookingRequest(
+            @Valid @Positive long userId, @Valid CreateBookingDto createBookingDto) {
+
+        return post("", userId, createBookingDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createBookingRequests(
+            @Valid @Positive long userId,
+            @NotEmpty @Size(max = BookingController.MAX_BATCH_SIZE) List<CreateBookingDto> createBookingDtos) {
+
+        return post("/batch", userId, createBookingDtos);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> approveBooking(
+            @Valid @Positive long ownerId, @Valid @Positive long bookingId, boolean approved) {
+
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch(String.format("/%d?approved={approved}", bookingId), ownerId, parameters, null);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getBookingById(@Valid @Positive long userId, @Valid @Positive long bookingId) {
+        return get(String.format("/%d", bookingId), userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getUserBookings(
+            @Valid @Positive long userId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after) {
+
+        Matcher matcher = STATE_FILTER_PATTERN.matcher(state);
+        if (!matcher.matches()) {
+            throw new BadRequestParamException(String.format("Unknown state: %s", state));
+        }
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        String path = "?from={from}&size={size}&state={state}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getOwnerBookings(
+            @Valid @Positive long ownerId, String state, @Valid @PositiveOrZero int from, @Valid @Positive int size,
+            @Nullable String after) {
+
+        Matcher matcher = STATE_FILTER_PATTERN.matcher(state);
+        if (!matcher.matches()) {
+            throw new BadRequestParamException(String.format("Unknown state: %s", state));
+        }
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        String path = "/owner?from={from}&size={size}&state={state}";
+        if (after != null) {
+            parameters.put("after", after);
+            path += "&after={after}";
+        }
+        return get(path, ownerId, parameters);
+    }
+}
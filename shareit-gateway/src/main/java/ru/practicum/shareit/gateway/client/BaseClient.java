@@ -1,22 +1,67 @@
 package ru.practicum.shareit.gateway.client;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.wire.SmileTranscoder;
+import ru.practicum.shareit.library.api.wire.WireFormat;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    // заголовки, относящиеся к соединению с сервером, а не к ответу
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade");
+
+    // условные заголовки клиента передаются серверу, чтобы он мог ответить 304 без чтения данных
+    private static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH);
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
+    private final long streamThreshold;
+    private final WireFormat wireFormat;
+    @Nullable
+    private final SingleFlight singleFlight;
 
-    public BaseClient(RestTemplate rest) {
+    @Nullable
+    private final ServerCallGuard guard;
+
+    public BaseClient(RestTemplate rest, ShareItServerProperties properties) {
+        this(rest, properties, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, ShareItServerProperties properties,
+                      @Nullable SingleFlight singleFlight, @Nullable ServerCallGuard guard) {
         this.rest = rest;
+        this.passthrough = properties.isPassthrough();
+        this.streamThreshold = properties.getStreamThreshold().toBytes();
+        this.wireFormat = properties.getWireFormat();
+        this.singleFlight = singleFlight;
+        this.guard = guard;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +76,22 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET, который объединяется с одинаковыми одновременными запросами, если это включено для маршрута.
+     * Ответ общий для всех ожидающих, поэтому тело читается целиком, а не потоком.
+     */
+    protected ResponseEntity<Object> getCoalesced(
+            String route, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (singleFlight == null || !singleFlight.isEnabled(route)) {
+            return get(path, userId, parameters);
+        }
+        HttpHeaders headers = defaultHeaders(userId);
+        URI uri = expand(path, parameters);
+        String key = String.format("%s %s %s", uri, userId, headers.getIfNoneMatch());
+        return singleFlight.execute(route, key, () -> sendRequest(HttpMethod.GET, path, parameters,
+                new HttpEntity<>(null, headers), false));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -81,6 +142,29 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (method == HttpMethod.GET || singleFlight == null) {
+            return sendRequest(method, path, parameters, requestEntity, true);
+        }
+        try {
+            return sendRequest(method, path, parameters, requestEntity, true);
+        } finally {
+            singleFlight.onWrite();
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity, boolean streamingAllowed) {
+        if (guard != null) {
+            return guard.call(() -> exchange(method, path, parameters, requestEntity, streamingAllowed));
+        }
+        return exchange(method, path, parameters, requestEntity, streamingAllowed);
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                HttpEntity<T> requestEntity, boolean streamingAllowed) {
+        if (passthrough) {
+            return relay(method, path, parameters, requestEntity, streamingAllowed);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -90,27 +174,133 @@ public class BaseClient {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            byte[] body = e.getResponseBodyAsByteArray();
+            if (isSmile(e.getResponseHeaders())) {
+                try {
+                    return ResponseEntity.status(e.getStatusCode())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(SmileTranscoder.toJson(body));
+                } catch (IOException ioException) {
+                    throw new ResourceAccessException("Invalid Smile error body: " + ioException.getMessage(),
+                            ioException);
+                }
+            }
+            return ResponseEntity.status(e.getStatusCode()).body(body);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    /**
+     * Ответ сервера передаётся без десериализации: статус, заголовки и тело как есть.
+     * Короткие ответы и ошибки читаются в массив байт, остальные отдаются потоком, и соединение
+     * возвращается в пул после записи тела клиенту. Ответ в Smile перекодируется в JSON.
+     */
+    private ResponseEntity<Object> relay(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                        HttpEntity<?> requestEntity, boolean streamingAllowed) {
+        URI uri = expand(path, parameters);
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                    .headers(relayedHeaders(response.getHeaders()));
+            long contentLength = response.getHeaders().getContentLength();
+            HttpStatus status = HttpStatus.resolve(response.getRawStatusCode());
+            if (status == HttpStatus.NOT_MODIFIED || status == HttpStatus.NO_CONTENT) {
+                return responseBuilder.build();
+            }
+            if (isSmile(response.getHeaders())) {
+                byte[] json = SmileTranscoder.toJson(StreamUtils.copyToByteArray(response.getBody()));
+                return responseBuilder.contentType(MediaType.APPLICATION_JSON)
+                        .contentLength(json.length)
+                        .body(json);
+            }
+            boolean isError = status == null || status.isError();
+            if (isError || !streamingAllowed || (contentLength >= 0 && contentLength <= streamThreshold)) {
+                return responseBuilder.body(StreamUtils.copyToByteArray(response.getBody()));
+            }
+            ResponseEntity<Object> streamed = responseBuilder.body(
+                    new InputStreamResource(new ResponseBodyInputStream(response)));
+            response = null;
+            return streamed;
+        } catch (IOException e) {
+            throw new ResourceAccessException(
+                    String.format("I/O error on %s request for \"%s\": %s", method, uri, e.getMessage()), e);
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    static HttpHeaders relayedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    private static boolean isSmile(@Nullable HttpHeaders headers) {
+        MediaType contentType = headers != null ? headers.getContentType() : null;
+        return contentType != null && WireFormat.SMILE.getMediaType().isCompatibleWith(contentType);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(wireFormat.getMediaType());
+        // JSON допускается на случай сервера без поддержки Smile
+        headers.setAccept(wireFormat == WireFormat.JSON
+                ? List.of(MediaType.APPLICATION_JSON)
+                : List.of(wireFormat.getMediaType(), MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        addForwardedHeaders(headers);
         return headers;
     }
 
+    static void addForwardedHeaders(HttpHeaders headers) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        for (String name : FORWARDED_HEADERS) {
+            Enumeration<String> values = request.getHeaders(name);
+            while (values != null && values.hasMoreElements()) {
+                headers.add(name, values.nextElement());
+            }
+        }
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            // тело уже десериализовано и будет записано заново в JSON: тип и длина ответа сервера
+            // (в том числе Smile) к нему не относятся
+            HttpHeaders headers = relayedHeaders(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            if (response.hasBody()) {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+            }
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return responseBuilder.headers(relayedHeaders(response.getHeaders())).build();
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +308,25 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    /**
+     * Тело ответа сервера; закрытие освобождает соединение.
+     */
+    private static class ResponseBodyInputStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyInputStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов сервера на GET по id (LRU с ограничением времени жизни).
+ * Ключ - путь и id пользователя: ответ зависит от того, кто запрашивает (владелец видит бронирования).
+ * Клиенты сбрасывают затронутые пути после записи через шлюз.
+ */
+@Component
+public class GatewayResponseCache {
+    private final Map<CacheKey, CachedResponse> responses;
+    private final long ttlNanos;
+    private final boolean enabled;
+    private final LongSupplier nanoTime;
+    // счётчик сбросов: ответ, полученный во время сброса, может быть устаревшим и не кэшируется
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public GatewayResponseCache(ShareItServerProperties properties) {
+        this(properties.getResponseCache().getMaxSize(), properties.getResponseCache().getTtl().toNanos(),
+                System::nanoTime);
+    }
+
+    GatewayResponseCache(int maxSize, long ttlNanos, LongSupplier nanoTime) {
+        this.enabled = maxSize > 0;
+        this.ttlNanos = ttlNanos;
+        this.nanoTime = nanoTime;
+        this.responses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public ResponseEntity<Object> get(
+            String path, @Nullable Long userId, Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CacheKey key = new CacheKey(path, userId);
+        CachedResponse cached = responses.get(key);
+        if (cached != null && nanoTime.getAsLong() - cached.loadedAt < ttlNanos) {
+            return cached.response;
+        }
+        final long evictionsBeforeLoad = evictions.get();
+        final long loadedAt = nanoTime.getAsLong();
+        ResponseEntity<Object> response = loader.get();
+        if (isCacheable(response) && evictions.get() == evictionsBeforeLoad) {
+            responses.put(key, new CachedResponse(response, loadedAt));
+        }
+        return response;
+    }
+
+    /**
+     * Сброс ответов по пути для всех пользователей.
+     */
+    public void evict(String path) {
+        evictIf(key -> key.path.equals(path));
+    }
+
+    /**
+     * Сброс ответов по всем путям с префиксом, например, всех вещей, если неизвестно, какая изменилась.
+     */
+    public void evictByPrefix(String pathPrefix) {
+        evictIf(key -> key.path.startsWith(pathPrefix));
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        responses.clear();
+    }
+
+    private void evictIf(Predicate<CacheKey> condition) {
+        evictions.incrementAndGet();
+        synchronized (responses) {
+            responses.keySet().removeIf(condition);
+        }
+    }
+
+    // потоковое тело читается один раз и не кэшируется
+    private static boolean isCacheable(@Nullable ResponseEntity<Object> response) {
+        return response != null
+                && response.getStatusCode() == HttpStatus.OK
+                && !(response.getBody() instanceof Resource);
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class CacheKey {
+        private final String path;
+        private final Long userId;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResponse {
+        private final ResponseEntity<Object> response;
+        private final long loadedAt;
+    }
+}
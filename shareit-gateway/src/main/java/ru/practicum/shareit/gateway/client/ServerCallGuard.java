@@ -0,0 +1,131 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.library.api.exception.ServiceUnavailableException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Вызов сервера через ограничитель одновременных вызовов группы маршрутов (bulkhead) и общий для
+ * сервера автоматический выключатель (circuit breaker). Если места нет или выключатель разомкнут,
+ * вызов сразу завершается ошибкой 503, не дожидаясь сервера.
+ * Ошибкой для выключателя считаются исключения и ответы 5xx, медленным - вызов дольше порога из настроек.
+ * Если тело ответа передаётся потоком, вызов завершается при закрытии потока: время и ошибки
+ * чтения тела учитываются, а место в ограничителе занято до конца передачи.
+ */
+@RequiredArgsConstructor
+public class ServerCallGuard {
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public ResponseEntity<Object> call(Supplier<ResponseEntity<Object>> call) {
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new ServiceUnavailableException(
+                    String.format("Превышено число одновременных запросов к серверу (%s)", bulkhead.getName()));
+        }
+        boolean completeOnClose = false;
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new ServiceUnavailableException("Сервер временно недоступен, повторите запрос позже");
+            }
+            final long start = System.nanoTime();
+            ResponseEntity<Object> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS,
+                        new HttpServerErrorException(response.getStatusCode()));
+                return response;
+            }
+            if (response.getBody() instanceof InputStreamResource) {
+                ResponseEntity<Object> guarded = guardBody(response, start);
+                completeOnClose = true;
+                return guarded;
+            }
+            circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return response;
+        } finally {
+            if (!completeOnClose) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    private ResponseEntity<Object> guardBody(ResponseEntity<Object> response, long start) {
+        InputStream body;
+        try {
+            body = ((InputStreamResource) response.getBody()).getInputStream();
+        } catch (IOException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw new ResourceAccessException("Response body is not readable: " + e.getMessage(), e);
+        }
+        return new ResponseEntity<>(new InputStreamResource(new GuardedInputStream(body, start)),
+                response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Тело ответа, передаваемое потоком; закрытие завершает вызов в выключателе и ограничителе.
+     */
+    private class GuardedInputStream extends FilterInputStream {
+        private final long start;
+        private IOException failure;
+        private boolean completed;
+
+        GuardedInputStream(InputStream body, long start) {
+            super(body);
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!completed) {
+                    completed = true;
+                    long duration = System.nanoTime() - start;
+                    if (failure != null) {
+                        circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, failure);
+                    } else {
+                        circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                    }
+                    bulkhead.onComplete();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ограничители вызовов сервера по группам маршрутов: bookings, items, requests, users.
+ * Настройки - resilience4j.bulkhead.instances.&lt;группа&gt; и resilience4j.circuitbreaker.instances.shareit-server,
+ * метрики - resilience4j.bulkhead.* и resilience4j.circuitbreaker.*.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerCallGuards {
+    public static final String CIRCUIT_BREAKER = "shareit-server";
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public ServerCallGuard forGroup(String group) {
+        return new ServerCallGuard(
+                bulkheadRegistry.bulkhead(group),
+                circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET-запросов к серверу: первый запрос выполняет вызов,
+ * остальные с тем же ключом ждут его и получают тот же ответ.
+ * Запрос, начатый после записи через шлюз, не присоединяется к вызову, начатому до неё.
+ */
+@Component
+public class SingleFlight {
+    private static final String COALESCED_METRIC = "shareit.gateway.single-flight.coalesced";
+
+    private final ShareItServerProperties.SingleFlight properties;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> coalesced = new ConcurrentHashMap<>();
+    // счётчик записей: вызов, начатый до записи, мог прочитать устаревшие данные
+    private final AtomicLong writes = new AtomicLong();
+
+    @Autowired
+    public SingleFlight(ShareItServerProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(properties.getSingleFlight(), meterRegistry.getIfAvailable());
+    }
+
+    SingleFlight(ShareItServerProperties.SingleFlight properties, @Nullable MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled(String route) {
+        return properties.getRoutes().getOrDefault(route, properties.isEnabled());
+    }
+
+    /**
+     * Выполняет вызов или присоединяется к уже выполняющемуся с тем же ключом.
+     * Исключение вызова получают все ожидающие его запросы.
+     */
+    public ResponseEntity<Object> execute(
+            String route, String key, Supplier<ResponseEntity<Object>> call) {
+        final String flightKey = route + ' ' + key;
+        final Flight flight = new Flight(writes.get());
+        while (true) {
+            Flight current = flights.putIfAbsent(flightKey, flight);
+            if (current == null) {
+                return run(flightKey, flight, call);
+            }
+            if (current.writesAtStart == flight.writesAtStart) {
+                counter(route).incrementAndGet();
+                return await(current);
+            }
+            // вызов начат до записи: новый запрос выполняется отдельно и занимает место устаревшего
+            if (flights.replace(flightKey, current, flight)) {
+                return run(flightKey, flight, call);
+            }
+        }
+    }
+
+    /**
+     * Отмечает запись через шлюз; вызывается после получения ответа на неё.
+     */
+    public void onWrite() {
+        writes.incrementAndGet();
+    }
+
+    public long getCoalescedCount(String route) {
+        AtomicLong count = coalesced.get(route);
+        return count != null ? count.get() : 0L;
+    }
+
+    private ResponseEntity<Object> run(String flightKey, Flight flight, Supplier<ResponseEntity<Object>> call) {
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.result.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private static ResponseEntity<Object> await(Flight flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private AtomicLong counter(String route) {
+        return coalesced.computeIfAbsent(route, name -> {
+            AtomicLong count = new AtomicLong();
+            if (meterRegistry != null) {
+                FunctionCounter.builder(COALESCED_METRIC, count, AtomicLong::get)
+                        .description("Вызовы сервера, сэкономленные объединением одинаковых запросов")
+                        .tag("route", name)
+                        .register(meterRegistry);
+            }
+            return count;
+        });
+    }
+
+    @RequiredArgsConstructor
+    private static class Flight {
+        private final long writesAtStart;
+        private final CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.gateway.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ограничение запросов на шлюзе (префикс shareit-gateway.rate-limit).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * Максимальное число одновременно обрабатываемых запросов; сверх него шлюз сразу отвечает 429.
+     * С запасом относительно пула соединений с сервером: часть ответов отдаётся из кэша.
+     */
+    private int maxConcurrentRequests = 400;
+
+    /**
+     * Лимит пользователя на маршрут, для которого нет своего лимита в routes.
+     */
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Лимиты по шаблонам путей контроллеров, например, routes[/items/search].rate=5.
+     */
+    private Map<String, Limit> routes = new HashMap<>();
+
+    /**
+     * Максимальное число хранимых счётчиков пользователь-маршрут.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Счётчик, не использовавшийся дольше, удаляется: лимит пользователя к этому времени уже восстановлен.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    /**
+     * При достижении max-keys полные счётчики удаляются не чаще раза за этот интервал.
+     */
+    private Duration fullSweepInterval = Duration.ofSeconds(1);
+
+    /**
+     * Общий лимит всех новых пользователей, пока max-keys достигнут и места для их счётчиков нет.
+     */
+    private Limit overflowLimit = new Limit(10, 20);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        /**
+         * Запросов в секунду в среднем.
+         */
+        private double rate = 50;
+
+        /**
+         * Запросов подряд без ожидания.
+         */
+        private int burst = 100;
+    }
+}
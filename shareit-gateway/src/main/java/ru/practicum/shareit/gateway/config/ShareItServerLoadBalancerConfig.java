@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.gateway.balancer.ServerEndpoint;
+import ru.practicum.shareit.gateway.balancer.ServerLoadBalancer;
+
+/**
+ * Распределение запросов между экземплярами shareit-server: общее для RestTemplate и WebClient.
+ */
+@Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class ShareItServerLoadBalancerConfig {
+
+    @Bean
+    public ServerLoadBalancer shareItServerLoadBalancer(ShareItServerProperties properties) {
+        return new ServerLoadBalancer(properties.resolveEndpoints(), properties.getLoadBalancer());
+    }
+
+    /**
+     * Метрики экземпляров сервера: shareit.gateway.server.outstanding и shareit.gateway.server.available.
+     */
+    @Bean
+    public MeterBinder shareItServerLoadBalancerMetrics(ServerLoadBalancer shareItServerLoadBalancer) {
+        return registry -> shareItServerLoadBalancer.getEndpoints().forEach(endpoint -> {
+            Gauge.builder("shareit.gateway.server.outstanding", endpoint, ServerEndpoint::getOutstandingRequests)
+                    .description("Выполняющиеся запросы к экземпляру сервера")
+                    .tag("endpoint", endpoint.toString())
+                    .register(registry);
+            Gauge.builder("shareit.gateway.server.available", endpoint,
+                            e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("1, если экземпляр не исключён после ошибок")
+                    .tag("endpoint", endpoint.toString())
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.gateway.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.library.api.wire.WireFormat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры подключения к shareit-server (префикс shareit-server).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+    private String url;
+
+    /**
+     * Адреса экземпляров сервера вида http://host:port; если заданы, запросы RestTemplate и WebClient
+     * распределяются между ними, а url клиентов указывает на первый из них.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Максимальное число соединений с одним хостом. Все запросы шлюза идут на один сервер,
+     * поэтому по умолчанию - весь пул.
+     */
+    private int maxConnectionsPerRoute = 200;
+
+    /**
+     * Время жизни простаивающего соединения, если сервер не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Ожидание свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Соединения, простаивающие дольше, закрываются фоновым потоком.
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Успешные ответы сервера передаются клиенту как есть, без десериализации JSON.
+     */
+    private boolean passthrough = true;
+
+    /**
+     * В режиме passthrough ответы большего размера или без Content-Length передаются потоком,
+     * не дожидаясь конца тела; меньшие читаются целиком и соединение сразу возвращается в пул.
+     */
+    private DataSize streamThreshold = DataSize.ofKilobytes(64);
+
+    /**
+     * Формат тел между шлюзом и сервером. При smile ответы сервера перекодируются в JSON для клиентов шлюза
+     * и читаются целиком, без передачи потоком.
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    /**
+     * Кэш ответов на GET /items/{id}, /requests/{id}, /users/{id}.
+     */
+    private final ResponseCache responseCache = new ResponseCache();
+
+    /**
+     * Объединение одинаковых одновременных GET-запросов в один вызов сервера.
+     */
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    /**
+     * Распределение запросов между экземплярами сервера.
+     */
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+
+    // пустой url (SHAREIT_SERVER_URL не задана) считается не заданным
+    public String getUrl() {
+        return !StringUtils.hasText(url) && !urls.isEmpty() ? urls.get(0) : url;
+    }
+
+    /**
+     * Адреса всех экземпляров сервера: urls, а если они не заданы - url.
+     */
+    public List<String> resolveEndpoints() {
+        return urls.isEmpty() ? List.of(getUrl()) : List.copyOf(urls);
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        /**
+         * Максимальное число ответов в кэше; 0 отключает кэш.
+         */
+        private int maxSize = 10000;
+
+        /**
+         * Время жизни ответа: ограничивает устаревание при изменениях в обход шлюза.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class SingleFlight {
+        /**
+         * Значение для маршрутов, не указанных в routes.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Включение по маршрутам, например, items.search=false.
+         */
+        private Map<String, Boolean> routes = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class LoadBalancer {
+        /**
+         * Число ошибок подряд (нет соединения, 502, 503, 504), после которого экземпляр исключается.
+         */
+        private int maxFailures = 3;
+
+        /**
+         * На сколько экземпляр исключается; после этого первая же ошибка исключает его снова.
+         */
+        private Duration ejectionTime = Duration.ofSeconds(30);
+    }
+}
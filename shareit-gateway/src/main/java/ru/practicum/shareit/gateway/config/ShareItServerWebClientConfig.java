@@ -0,0 +1,56 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.gateway.balancer.LoadBalancingExchangeFilterFunction;
+import ru.practicum.shareit.gateway.balancer.ServerLoadBalancer;
+
+/**
+ * Общий для всех клиентов ReactiveBaseClient пул соединений Reactor Netty с shareit-server (профиль reactive).
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ShareItServerProperties.class)
+public class ShareItServerWebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEvictionTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpConnector shareItServerConnector(ShareItServerProperties properties,
+                                                      ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /**
+     * При нескольких экземплярах сервера каждый запрос WebClient отправляется на выбранный балансировщиком.
+     * WebClient.Builder в шлюзе используют только клиенты shareit-server.
+     */
+    @Bean
+    public WebClientCustomizer shareItServerLoadBalancingCustomizer(ServerLoadBalancer shareItServerLoadBalancer) {
+        return builder -> {
+            if (shareItServerLoadBalancer.getEndpoints().size() > 1) {
+                builder.filter(new LoadBalancingExchangeFilterFunction(shareItServerLoadBalancer));
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.gateway.item;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.item.service.ItemClient;
@@ -13,8 +14,9 @@ import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
 @Tag(name = "Вещи", description = "API для работы с вещами")
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-public class ItemControllerImpl implements ItemController {
+public class ItemControllerImpl implements ItemController<ResponseEntity<Object>> {
     private final ItemClient itemClient;
 
     @Override
@@ -52,4 +54,10 @@ public class ItemControllerImpl implements ItemController {
     public ResponseEntity<Object> createComment(long userId, long itemId, CreateCommentDto createCommentDto) {
         return itemClient.createComment(userId, itemId, createCommentDto);
     }
+
+    @Override
+    @Operation(summary = "Занятые и свободные интервалы вещи")
+    public ResponseEntity<Object> getItemAvailability(long userId, long itemId, String from, String to) {
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
 }
@@ -6,6 +6,7 @@ import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
@@ -25,4 +26,7 @@ public interface ItemClient {
 
     ResponseEntity<Object> createComment(
             @Valid @Positive long userId, @Valid @Positive long itemId, @Valid CreateCommentDto createCommentDto);
+
+    ResponseEntity<Object> getItemAvailability(
+            @Valid @Positive long userId, @Valid @Positive long itemId, @NotBlank String from, @NotBlank String to);
 }
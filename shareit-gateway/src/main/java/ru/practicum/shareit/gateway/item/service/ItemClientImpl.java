@@ -1,55 +1,80 @@
 package ru.practicum.shareit.gateway.item.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.GatewayResponseCache;
+import ru.practicum.shareit.gateway.client.ServerCallGuards;
+import ru.practicum.shareit.gateway.client.SingleFlight;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
 import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.Map;
 
 @Service
 @Validated
+@Profile("!reactive")
 public class ItemClientImpl extends BaseClient implements ItemClient {
     private static final String API_PREFIX = "/items";
+    // вещи возвращаются и в составе запроса
+    private static final String REQUESTS_PREFIX = "/requests";
+
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public ItemClientImpl(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClientImpl(ShareItServerProperties properties, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache,
+                          SingleFlight singleFlight, ServerCallGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                singleFlight,
+                guards.forGroup("items")
         );
+        this.responseCache = responseCache;
     }
 
     @Override
     public ResponseEntity<Object> createItem(@Valid @Positive long userId,
                                              @Valid CreateItemDto createItemDto) {
-        return post("", userId, createItemDto);
+        ResponseEntity<Object> response = post("", userId, createItemDto);
+        if (createItemDto.getRequestId() != null) {
+            responseCache.evict(String.format("%s/%d", REQUESTS_PREFIX, createItemDto.getRequestId()));
+        }
+        return response;
     }
 
     @Override
     public ResponseEntity<Object> getItemById(@Valid @Positive long userId,
                                               @Valid @Positive long itemId) {
-        return get(String.format("/%d", itemId), userId);
+        String path = String.format("/%d", itemId);
+        return responseCache.get(API_PREFIX + path, userId, () -> getCoalesced("items.get", path, userId, null));
     }
 
     @Override
     public ResponseEntity<Object> updateItem(@Valid @Positive long userId,
                                              @Valid @Positive long itemId,
                                              @Valid UpdateItemDto updateItemDto) {
-        return patch(String.format("/%d", itemId), userId, updateItemDto);
+        String path = String.format("/%d", itemId);
+        ResponseEntity<Object> response = patch(path, userId, updateItemDto);
+        responseCache.evict(API_PREFIX + path);
+        responseCache.evictByPrefix(REQUESTS_PREFIX + "/");
+        return response;
     }
 
     @Override
@@ -60,7 +85,7 @@ public class ItemClientImpl extends BaseClient implements ItemClient {
                 "from", from,
                 "size", size
         );
-        return get("?from={from}&size={size}", userId, parameters);
+        return getCoalesced("items.owned", "?from={from}&size={size}", userId, parameters);
     }
 
     @Override
@@ -73,13 +98,28 @@ public class ItemClientImpl extends BaseClient implements ItemClient {
                 "size", size,
                 "text", text
         );
-        return get("/search?from={from}&size={size}&text={text}", userId, parameters);
+        return getCoalesced("items.search", "/search?from={from}&size={size}&text={text}", userId, parameters);
     }
 
     @Override
     public ResponseEntity<Object> createComment(@Valid @Positive long userId,
                                                 @Valid @Positive long itemId,
                                                 @Valid CreateCommentDto createCommentDto) {
-        return post(String.format("/%d/comment", itemId), userId, createCommentDto);
+        ResponseEntity<Object> response = post(String.format("/%d/comment", itemId), userId, createCommentDto);
+        responseCache.evict(String.format("%s/%d", API_PREFIX, itemId));
+        return response;
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemAvailability(@Valid @Positive long userId,
+                                                      @Valid @Positive long itemId,
+                                                      @NotBlank String from,
+                                                      @NotBlank String to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return getCoalesced("items.availability",
+                String.format("/%d/availability?from={from}&to={to}", itemId), userId, parameters);
     }
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.gateway.item.service;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
+import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
+import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Неблокирующий вариант ItemClient (профиль reactive).
+ */
+public interface ReactiveItemClient {
+    Mono<ResponseEntity<Object>> createItem(@Valid @Positive long userId, @Valid CreateItemDto createItemDto);
+
+    Mono<ResponseEntity<Object>> getItemById(@Valid @Positive long userId, @Valid @Positive long itemId);
+
+    Mono<ResponseEntity<Object>> updateItem(
+            @Valid @Positive long userId, @Valid @Positive long itemId, @Valid UpdateItemDto updateItemDto);
+
+    Mono<ResponseEntity<Object>> getOwnedItems(
+            @Valid @Positive long userId, @Valid @PositiveOrZero int from, @Valid @Positive int size);
+
+    Mono<ResponseEntity<Object>> searchItems(
+            @Valid @Positive long userId, String text, @Valid @PositiveOrZero int from, @Valid @Positive int size);
+
+    Mono<ResponseEntity<Object>> createComment(
+            @Valid @Positive long userId, @Valid @Positive long itemId, @Valid CreateCommentDto createCommentDto);
+
+    Mono<ResponseEntity<Object>> getItemAvailability(
+            @Valid @Positive long userId, @Valid @Positive long itemId, @NotBlank String from, @NotBlank String to);
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.gateway.item.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.client.ReactiveBaseClient;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
+import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
+import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.Map;
+
+@Service
+@Validated
+@Profile("reactive")
+public class ReactiveItemClientImpl extends ReactiveBaseClient implements ReactiveItemClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClientImpl(ShareItServerProperties properties, WebClient.Builder builder,
+                                  ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createItem(@Valid @Positive long userId,
+                                             @Valid CreateItemDto createItemDto) {
+        return post("", userId, createItemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemById(@Valid @Positive long userId,
+                                              @Valid @Positive long itemId) {
+        return get(String.format("/%d", itemId), userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateItem(@Valid @Positive long userId,
+                                             @Valid @Positive long itemId,
+                                             @Valid UpdateItemDto updateItemDto) {
+        return patch(String.format("/%d", itemId), userId, updateItemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getOwnedItems(@Valid @Positive long userId,
+                                                 @Valid @PositiveOrZero int from,
+                                                 @Valid @Positive int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> searchItems(@Valid @Positive long userId,
+                                               String text,
+                                               @Valid @PositiveOrZero int from,
+                                               @Valid @Positive int size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size,
+                "text", text
+        );
+        return get("/search?from={from}&size={size}&text={text}", userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createComment(@Valid @Positive long userId,
+                                                @Valid @Positive long itemId,
+                                                @Valid CreateCommentDto createCommentDto) {
+        return post(String.format("/%d/comment", itemId), userId, createCommentDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemAvailability(@Valid @Positive long userId,
+                                                      @Valid @Positive long itemId,
+                                                      @NotBlank String from,
+                                                      @NotBlank String to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get(String.format("/%d/availability?from={from}&to={to}", itemId), userId, parameters);
+    }
+}
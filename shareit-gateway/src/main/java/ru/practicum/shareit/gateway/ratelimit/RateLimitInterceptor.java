@@ -0,0 +1,98 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.library.api.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отклоняет запрос с 429 до вызова контроллера, а значит, и до обращения к серверу:
+ * при превышении лимита пользователя на маршрут или общего лимита одновременных запросов.
+ * Место среди одновременных запросов занимается до завершения ответа, в том числе асинхронного.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String PERMIT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".PERMIT";
+    private static final String REJECTED_METRIC = "shareit.gateway.rate-limit.rejected";
+
+    private final RateLimiter rateLimiter;
+    @Nullable
+    private final Counter rejectedByRate;
+    @Nullable
+    private final Counter rejectedByConcurrency;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, @Nullable MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.rejectedByRate = rejectedCounter(meterRegistry, "rate");
+        this.rejectedByConcurrency = rejectedCounter(meterRegistry, "concurrency");
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!rateLimiter.tryEnter()) {
+            increment(rejectedByConcurrency);
+            throw new TooManyRequestsException("Сервис перегружен, повторите запрос позже", 1L);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+
+        String route = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        long waitNanos = rateLimiter.tryAcquire(route, userKey(request));
+        if (waitNanos > 0) {
+            release(request);
+            increment(rejectedByRate);
+            throw new TooManyRequestsException(
+                    String.format("Превышен лимит запросов к %s", route),
+                    Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            rateLimiter.exit();
+        }
+    }
+
+    // запросы без пользователя, например, регистрация, ограничиваются по адресу клиента
+    private static String userKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        return userId != null ? userId : "ip:" + request.getRemoteAddr();
+    }
+
+    @Nullable
+    private static Counter rejectedCounter(@Nullable MeterRegistry meterRegistry, String reason) {
+        if (meterRegistry == null) {
+            return null;
+        }
+        return Counter.builder(REJECTED_METRIC)
+                .description("Запросы, отклонённые шлюзом с 429")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static void increment(@Nullable Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
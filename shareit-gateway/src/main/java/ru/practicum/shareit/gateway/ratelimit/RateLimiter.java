@@ -0,0 +1,99 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.gateway.config.RateLimitProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Лимиты запросов пользователя по маршрутам и общий лимит одновременных запросов.
+ * Счётчики хранятся в ConcurrentHashMap; простаивающие удаляются при добавлении новых,
+ * не чаще раза за idle-timeout, а при достижении max-keys - все полные, не чаще раза за full-sweep-interval.
+ * Пока место не освободилось, новые пользователи делят одну корзину overflow-limit.
+ */
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final Semaphore concurrentRequests;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final long idleNanos;
+    private final long fullSweepNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong lastSweep;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.concurrentRequests = new Semaphore(properties.getMaxConcurrentRequests());
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.fullSweepNanos = properties.getFullSweepInterval().toNanos();
+        this.nanoTime = nanoTime;
+        final long now = nanoTime.getAsLong();
+        this.lastSweep = new AtomicLong(now);
+        this.overflowBucket = new TokenBucket(
+                properties.getOverflowLimit().getRate(), properties.getOverflowLimit().getBurst(), now);
+    }
+
+    /**
+     * Занимает место среди одновременных запросов; освобождается через {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        return concurrentRequests.tryAcquire();
+    }
+
+    public void exit() {
+        concurrentRequests.release();
+    }
+
+    /**
+     * @return 0, если запрос пользователя по маршруту разрешён, иначе сколько наносекунд ждать
+     */
+    public long tryAcquire(String route, String userKey) {
+        final long now = nanoTime.getAsLong();
+        BucketKey key = new BucketKey(route, userKey);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxKeys()) {
+                // при нехватке места удаляются все полные корзины, а не только давно простаивающие
+                evictIdle(now, 0L, fullSweepNanos);
+            } else {
+                evictIdle(now, idleNanos, idleNanos);
+            }
+            if (buckets.size() >= properties.getMaxKeys()) {
+                // все счётчики активны: новые пользователи делят одну корзину с жёстким лимитом
+                return overflowBucket.tryAcquire(now);
+            }
+            RateLimitProperties.Limit limit = properties.getRoutes().getOrDefault(route, properties.getDefaultLimit());
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getRate(), limit.getBurst(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long now, long idleNanos, long sweepIntervalNanos) {
+        final long last = lastSweep.get();
+        // проход по всем корзинам выполняет один поток и не чаще раза за sweepIntervalNanos
+        if (now - last < sweepIntervalNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().isIdle(now, idleNanos));
+    }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class BucketKey {
+        private final String route;
+        private final String userKey;
+    }
+}
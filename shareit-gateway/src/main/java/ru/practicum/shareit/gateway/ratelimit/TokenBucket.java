@@ -0,0 +1,43 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Маркерная корзина в виде одного числа - расчётного времени прихода следующего запроса
+ * (алгоритм GCRA). Обновляется через compareAndSet, без блокировок.
+ */
+class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double rate, int burst, long now) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / rate));
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0, если запрос разрешён, иначе сколько наносекунд ждать до следующего маркера
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, now);
+            long wait = arrival - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Корзина полна и не использовалась дольше idleNanos: её удаление не меняет лимит.
+     */
+    boolean isIdle(long now, long idleNanos) {
+        return now - theoreticalArrival.get() >= idleNanos;
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.gateway.request;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.request.service.ItemRequestClient;
@@ -11,8 +12,9 @@ import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
 
 @Tag(name = "Запросы вещей", description = "API для работы с запросами на добавление вещей")
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-public class ItemRequestControllerImpl implements ItemRequestController {
+public class ItemRequestControllerImpl implements ItemRequestController<ResponseEntity<Object>> {
     private final ItemRequestClient itemRequestClient;
 
     @Override
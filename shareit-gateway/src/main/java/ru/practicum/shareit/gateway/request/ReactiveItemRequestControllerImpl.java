@@ -0,0 +1,44 @@
+package ru.practicum.shareit.gateway.request;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.request.service.ReactiveItemRequestClient;
+import ru.practicum.shareit.library.api.request.ItemRequestController;
+import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
+
+@Tag(name = "Запросы вещей", description = "API для работы с запросами на добавление вещей")
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveItemRequestControllerImpl implements ItemRequestController<Mono<ResponseEntity<Object>>> {
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @Override
+    @Operation(summary = "Добавить новый запрос")
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, CreateItemRequestDto dto) {
+        return itemRequestClient.createItemRequest(userId, dto);
+    }
+
+    @Override
+    @Operation(summary = "Получить список своих запросов")
+    public Mono<ResponseEntity<Object>> getOwnedItemRequests(long ownerId) {
+        return itemRequestClient.getOwnedItemRequests(ownerId);
+    }
+
+    @Override
+    @Operation(summary = "Получить список запросов, созданных другими пользователями")
+    public Mono<ResponseEntity<Object>> getItemRequests(long userId, int from, int size) {
+        return itemRequestClient.getItemRequests(userId, from, size);
+    }
+
+    @Override
+    @Operation(summary = "Получить данные о запросе по id")
+    public Mono<ResponseEntity<Object>> getItemRequestById(long userId, long requestId) {
+        return itemRequestClient.getItemRequestById(userId, requestId);
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.gateway.request.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.GatewayResponseCache;
+import ru.practicum.shareit.gateway.client.ServerCallGuards;
+import ru.practicum.shareit.gateway.client.SingleFlight;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
 import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
 
 import javax.validation.Valid;
@@ -18,17 +22,26 @@ import java.util.Map;
 
 @Service
 @Validated
+@Profile("!reactive")
 public class ItemRequestClientImpl extends BaseClient implements ItemRequestClient {
     private static final String API_PREFIX = "/requests";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClientImpl(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClientImpl(ShareItServerProperties properties, RestTemplateBuilder builder,
+                                 ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache,
+                                 SingleFlight singleFlight, ServerCallGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                singleFlight,
+                guards.forGroup("requests")
         );
+        this.responseCache = responseCache;
     }
 
     @Override
@@ -54,6 +67,7 @@ public class ItemRequestClientImpl extends BaseClient implements ItemRequestClie
 
     @Override
     public ResponseEntity<Object> getItemRequestById(@Valid @Positive long userId, @Valid @Positive long requestId) {
-        return get(String.format("/%d", requestId), userId);
+        String path = String.format("/%d", requestId);
+        return responseCache.get(API_PREFIX + path, userId, () -> get(path, userId));
     }
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.gateway.request.service;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * Неблокирующий вариант ItemRequestClient (профиль reactive).
+ */
+public interface ReactiveItemRequestClient {
+
+    Mono<ResponseEntity<Object>> createItemRequest(@Valid @Positive long userId, @Valid CreateItemRequestDto dto);
+
+    Mono<ResponseEntity<Object>> getOwnedItemRequests(@Valid @Positive long ownerId);
+
+    Mono<ResponseEntity<Object>> getItemRequests(
+            @Valid @Positive long userId, @Valid @PositiveOrZero int from, @Valid @Positive int size);
+
+    Mono<ResponseEntity<Object>> getItemRequestById(@Valid @Positive long userId, @Valid @Positive long requestId);
+}
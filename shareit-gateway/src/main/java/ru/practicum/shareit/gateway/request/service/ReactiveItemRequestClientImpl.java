@@ -0,0 +1,66 @@
+package ru.practicum.shareit.gateway.request.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.client.ReactiveBaseClient;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.Map;
+
+@Service
+@Validated
+@Profile("reactive")
+public class ReactiveItemRequestClientImpl extends ReactiveBaseClient implements ReactiveItemRequestClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClientImpl(ShareItServerProperties properties, WebClient.Builder builder,
+                                         ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createItemRequest(
+            @Valid @Positive long userId, @Valid CreateItemRequestDto dto) {
+
+        return post("", userId, dto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getOwnedItemRequests(@Valid @Positive long ownerId) {
+        return get("", ownerId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemRequests(
+            @Valid @Positive long userId, @Valid @PositiveOrZero int from, @Valid @Positive int size) {
+
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all", userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemRequestById(
+            @Valid @Positive long userId, @Valid @Positive long requestId) {
+
+        return get(String.format("/%d", requestId), userId);
+    }
+}
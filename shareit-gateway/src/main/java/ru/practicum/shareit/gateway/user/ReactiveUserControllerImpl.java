@@ -0,0 +1,52 @@
+package ru.practicum.shareit.gateway.user;
+
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.user.service.ReactiveUserClient;
+import ru.practicum.shareit.library.api.user.UserController;
+import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
+import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
+
+@Tag(name = "Пользователи", description = "API для работы с пользователями")
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserControllerImpl implements UserController<Mono<ResponseEntity<Object>>> {
+    private final ReactiveUserClient userClient;
+
+    @Override
+    @Operation(summary = "Добавление нового пользователя")
+    public Mono<ResponseEntity<Object>> createUser(CreateUserDto createUserDto) {
+        return userClient.createUser(createUserDto);
+    }
+
+    @Override
+    @Operation(summary = "Получение данных о пользователе по id")
+    public Mono<ResponseEntity<Object>> getUserById(long id) {
+        return userClient.getUserById(id);
+    }
+
+    @Override
+    @Operation(summary = "Получение списка всех пользователей")
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return userClient.getAllUsers();
+    }
+
+    @Override
+    @Operation(summary = "Редактирование пользователя")
+    public Mono<ResponseEntity<Object>> updateUser(long id, UpdateUserDto updateUserDto) {
+        return userClient.updateUser(id, updateUserDto);
+    }
+
+    @Override
+    @Operation(summary = "Удаление пользователя")
+    public Mono<ResponseEntity<Object>> deleteUser(long id) {
+        return userClient.deleteUser(id);
+    }
+}
@@ -4,6 +4,7 @@ package ru.practicum.shareit.gateway.user;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.gateway.user.service.UserClient;
@@ -13,8 +14,9 @@ import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
 
 @Tag(name = "Пользователи", description = "API для работы с пользователями")
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
-public class UserControllerImpl implements UserController {
+public class UserControllerImpl implements UserController<ResponseEntity<Object>> {
     private final UserClient userClient;
 
     @Override
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.gateway.user.service;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
+import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+/**
+ * Неблокирующий вариант UserClient (профиль reactive).
+ */
+public interface ReactiveUserClient {
+
+    Mono<ResponseEntity<Object>> createUser(@Valid CreateUserDto createUserDto);
+
+    Mono<ResponseEntity<Object>> getUserById(@Valid @Positive long id);
+
+    Mono<ResponseEntity<Object>> getAllUsers();
+
+    Mono<ResponseEntity<Object>> updateUser(@Valid @Positive long id, @Valid UpdateUserDto updateUserDto);
+
+    Mono<ResponseEntity<Object>> deleteUser(@Valid @Positive long id);
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.gateway.user.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.gateway.client.ReactiveBaseClient;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
+import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+
+@Service
+@Validated
+@Profile("reactive")
+public class ReactiveUserClientImpl extends ReactiveBaseClient implements ReactiveUserClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClientImpl(ShareItServerProperties properties, WebClient.Builder builder,
+                                  ClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(properties.getUrl() + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+
+    @Override
+    public Mono<ResponseEntity<Object>> createUser(@Valid CreateUserDto createUserDto) {
+        return post("", createUserDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getUserById(@Valid @Positive long id) {
+        return get(String.format("/%d", id));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("");
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateUser(@Valid @Positive long id,
+                                             @Valid UpdateUserDto updateUserDto) {
+        return patch(String.format("/%d", id), updateUserDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> deleteUser(@Valid @Positive long id) {
+        return delete(String.format("/%d", id));
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.gateway.user.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.GatewayResponseCache;
+import ru.practicum.shareit.gateway.client.ServerCallGuards;
+import ru.practicum.shareit.gateway.client.SingleFlight;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
 import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
 import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
 
@@ -17,17 +21,26 @@ import javax.validation.constraints.Positive;
 
 @Service
 @Validated
+@Profile("!reactive")
 public class UserClientImpl extends BaseClient implements UserClient {
     private static final String API_PREFIX = "/users";
 
+    private final GatewayResponseCache responseCache;
+
     @Autowired
-    public UserClientImpl(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClientImpl(ShareItServerProperties properties, RestTemplateBuilder builder,
+                          ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache,
+                          SingleFlight singleFlight, ServerCallGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                properties,
+                singleFlight,
+                guards.forGroup("users")
         );
+        this.responseCache = responseCache;
     }
 
 
@@ -38,7 +51,8 @@ public class UserClientImpl extends BaseClient implements UserClient {
 
     @Override
     public ResponseEntity<Object> getUserById(@Valid @Positive long id) {
-        return get(String.format("/%d", id));
+        String path = String.format("/%d", id);
+        return responseCache.get(API_PREFIX + path, null, () -> get(path));
     }
 
     @Override
@@ -49,11 +63,17 @@ public class UserClientImpl extends BaseClient implements UserClient {
     @Override
     public ResponseEntity<Object> updateUser(@Valid @Positive long id,
                                              @Valid UpdateUserDto updateUserDto) {
-        return patch(String.format("/%d", id), updateUserDto);
+        String path = String.format("/%d", id);
+        ResponseEntity<Object> response = patch(path, updateUserDto);
+        responseCache.evict(API_PREFIX + path);
+        return response;
     }
 
     @Override
     public ResponseEntity<Object> deleteUser(@Valid @Positive long id) {
-        return delete(String.format("/%d", id));
+        ResponseEntity<Object> response = delete(String.format("/%d", id));
+        // вместе с пользователем удаляются его вещи и запросы
+        responseCache.evictAll();
+        return response;
     }
 }
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import ru.practicum.shareit.gateway.client.ReactiveBaseClient;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Балансировка WebClient между двумя локальными заглушками сервера.
+ */
+class LoadBalancingExchangeFilterFunctionTest {
+    private static final int MAX_FAILURES = 3;
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private HttpServer first;
+    private HttpServer second;
+
+    private static class TestClient extends ReactiveBaseClient {
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        ResponseEntity<Object> getItem() {
+            return get("/items/1", 1L).block();
+        }
+
+        ResponseEntity<Object> createItem() {
+            return post("/items", 1L, Map.of("name", "item")).block();
+        }
+    }
+
+    @BeforeEach
+    void startServers() throws IOException {
+        first = startServer("first");
+        second = startServer("second");
+    }
+
+    @AfterEach
+    void stopServers() {
+        first.stop(0);
+        second.stop(0);
+    }
+
+    private HttpServer startServer(String name) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.computeIfAbsent(name + " " + exchange.getRequestMethod(), key -> new AtomicInteger())
+                    .incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = name.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private int count(String name, String method) {
+        AtomicInteger count = requests.get(name + " " + method);
+        return count != null ? count.get() : 0;
+    }
+
+    private static TestClient client(ServerLoadBalancer loadBalancer, ShareItServerProperties properties) {
+        return new TestClient(WebClient.builder()
+                .baseUrl(properties.getUrl())
+                .filter(new LoadBalancingExchangeFilterFunction(loadBalancer))
+                .build());
+    }
+
+    private static ShareItServerProperties properties(String... urls) {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrls(List.of(urls));
+        properties.getLoadBalancer().setMaxFailures(MAX_FAILURES);
+        return properties;
+    }
+
+    @Test
+    void get_ifBothInstancesUp_thenSpreadRequests() {
+        ShareItServerProperties properties = properties(url(first), url(second));
+        ServerLoadBalancer loadBalancer = new ServerLoadBalancer(properties.resolveEndpoints(),
+                properties.getLoadBalancer());
+        TestClient client = client(loadBalancer, properties);
+
+        for (int i = 0; i < 40; i++) {
+            assertEquals(HttpStatus.OK, client.getItem().getStatusCode());
+        }
+
+        assertTrue(count("first", "GET") > 0);
+        assertTrue(count("second", "GET") > 0);
+        assertEquals(40, count("first", "GET") + count("second", "GET"));
+        loadBalancer.getEndpoints().forEach(endpoint -> assertEquals(0, endpoint.getOutstandingRequests()));
+    }
+
+    @Test
+    void get_ifInstanceDown_thenRetryOnOtherAndEject() {
+        ShareItServerProperties properties = properties(url(first), url(second));
+        ServerLoadBalancer loadBalancer = new ServerLoadBalancer(properties.resolveEndpoints(),
+                properties.getLoadBalancer());
+        TestClient client = client(loadBalancer, properties);
+        first.stop(0);
+
+        for (int i = 0; i < 20; i++) {
+            ResponseEntity<Object> response = client.getItem();
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertArrayEquals("second".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        }
+
+        assertEquals(20, count("second", "GET"));
+        assertFalse(loadBalancer.getEndpoints().get(0).isAvailable(System.nanoTime()));
+        assertTrue(loadBalancer.getEndpoints().get(1).isAvailable(System.nanoTime()));
+        loadBalancer.getEndpoints().forEach(endpoint -> assertEquals(0, endpoint.getOutstandingRequests()));
+    }
+
+    @Test
+    void post_ifInstanceDown_thenNotRetryOnOtherInstance() {
+        ShareItServerProperties properties = properties(url(first), url(second));
+        ServerLoadBalancer loadBalancer = new ServerLoadBalancer(properties.resolveEndpoints(),
+                properties.getLoadBalancer());
+        TestClient client = client(loadBalancer, properties);
+        first.stop(0);
+
+        int failed = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                assertEquals(HttpStatus.OK, client.createItem().getStatusCode());
+            } catch (WebClientRequestException e) {
+                failed++;
+            }
+        }
+
+        // запросы, попавшие на остановленный экземпляр, завершаются ошибкой, пока он не исключён
+        assertEquals(MAX_FAILURES, failed);
+        assertEquals(20 - MAX_FAILURES, count("second", "POST"));
+    }
+}
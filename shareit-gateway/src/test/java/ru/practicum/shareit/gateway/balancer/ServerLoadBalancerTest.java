@@ -0,0 +1,74 @@
+package ru.practicum.shareit.gateway.balancer;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerLoadBalancerTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private ServerLoadBalancer loadBalancer(String... urls) {
+        ShareItServerProperties.LoadBalancer properties = new ShareItServerProperties.LoadBalancer();
+        properties.setMaxFailures(2);
+        properties.setEjectionTime(Duration.ofSeconds(30));
+        return new ServerLoadBalancer(List.of(urls), properties, now::get);
+    }
+
+    @Test
+    void choose_ifTwoInstances_thenChooseLessLoaded() {
+        ServerLoadBalancer loadBalancer = loadBalancer("http://a:9090", "http://b:9090");
+        ServerEndpoint a = loadBalancer.getEndpoints().get(0);
+        a.onRequestStarted();
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(loadBalancer.getEndpoints().get(1), loadBalancer.choose(null));
+        }
+    }
+
+    @Test
+    void choose_ifInstanceFailedRepeatedly_thenEjectUntilTimeout() {
+        ServerLoadBalancer loadBalancer = loadBalancer("http://a:9090", "http://b:9090");
+        ServerEndpoint a = loadBalancer.getEndpoints().get(0);
+        ServerEndpoint b = loadBalancer.getEndpoints().get(1);
+
+        loadBalancer.onFailure(a);
+        assertTrue(a.isAvailable(now.get()));
+        loadBalancer.onFailure(a);
+        assertFalse(a.isAvailable(now.get()));
+        for (int i = 0; i < 10; i++) {
+            assertSame(b, loadBalancer.choose(null));
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(a.isAvailable(now.get()));
+        loadBalancer.onFailure(a);
+        assertFalse(a.isAvailable(now.get()));
+    }
+
+    @Test
+    void choose_ifAllEjected_thenChooseAmongAll() {
+        ServerLoadBalancer loadBalancer = loadBalancer("http://a:9090", "http://b:9090");
+        loadBalancer.getEndpoints().forEach(endpoint -> {
+            loadBalancer.onFailure(endpoint);
+            loadBalancer.onFailure(endpoint);
+        });
+
+        assertTrue(loadBalancer.getEndpoints().contains(loadBalancer.choose(null)));
+    }
+
+    @Test
+    void choose_ifExcluded_thenChooseOther() {
+        ServerLoadBalancer loadBalancer = loadBalancer("http://a:9090", "http://b:9090");
+        ServerEndpoint a = loadBalancer.getEndpoints().get(0);
+
+        assertSame(loadBalancer.getEndpoints().get(1), loadBalancer.choose(a));
+    }
+}
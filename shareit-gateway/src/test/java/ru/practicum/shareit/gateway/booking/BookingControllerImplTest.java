@@ -11,6 +11,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.gateway.booking.service.BookingClient;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 
+import java.util.List;
+
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -41,6 +43,20 @@ class BookingControllerImplTest {
         verify(bookingClient).createBookingRequest(1L, expected);
     }
 
+    @Test
+    @SneakyThrows
+    void createBookingRequests() {
+        List<CreateBookingDto> expected = List.of(
+                CreateBookingDto.builder().itemId(1L).build(),
+                CreateBookingDto.builder().itemId(2L).build());
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(expected)))
+                .andExpect(status().isOk());
+        verify(bookingClient).createBookingRequests(1L, expected);
+    }
+
     @Test
     @SneakyThrows
     void approveBooking() {
@@ -68,7 +84,7 @@ class BookingControllerImplTest {
                         .param("from", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk());
-        verify(bookingClient).getUserBookings(1L, "current", 0, 10);
+        verify(bookingClient).getUserBookings(1L, "current", 0, 10, null);
     }
 
     @Test
@@ -79,6 +95,17 @@ class BookingControllerImplTest {
                         .param("from", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk());
-        verify(bookingClient).getOwnerBookings(1L, "current", 0, 10);
+        verify(bookingClient).getOwnerBookings(1L, "current", 0, 10, null);
+    }
+
+    @Test
+    @SneakyThrows
+    void getUserBookings_ifAfterPresent_thenPassCursor() {
+        mockMvc.perform(get("/bookings?state=all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "10")
+                        .param("after", "cursor"))
+                .andExpect(status().isOk());
+        verify(bookingClient).getUserBookings(1L, "all", 0, 10, "cursor");
     }
-}
\ No newline at end of file
+}
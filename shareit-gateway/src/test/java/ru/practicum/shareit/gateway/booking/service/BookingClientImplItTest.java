@@ -3,10 +3,13 @@ package ru.practicum.shareit.gateway.booking.service;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.library.api.booking.BookingController;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.library.api.exception.BadRequestParamException;
 
 import javax.validation.ConstraintViolationException;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -45,6 +48,17 @@ class BookingClientImplItTest {
                 1L, CreateBookingDto.builder().itemId(1L).start("2023").end("").build()));
     }
 
+    @Test
+    void createBookingRequests_ifEmptyOrTooLarge_thenThrowConstraintViolationException() {
+        CreateBookingDto dto = CreateBookingDto.builder().itemId(1L).start("2023").end("2024").build();
+
+        assertThrows(ConstraintViolationException.class, () -> bookingClient.createBookingRequests(1L, List.of()));
+        assertThrows(ConstraintViolationException.class, () -> bookingClient.createBookingRequests(
+                1L, Collections.nCopies(BookingController.MAX_BATCH_SIZE + 1, dto)));
+        assertThrows(ConstraintViolationException.class, () -> bookingClient.createBookingRequests(
+                0L, List.of(dto)));
+    }
+
     @Test
     void approveBooking_ifInvalidOwnerId_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.approveBooking(-1L, 1L, true));
@@ -72,58 +86,58 @@ class BookingClientImplItTest {
     @Test
     void getUserBookings_ifInvalidUserId_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getUserBookings(
-                -1L, "ALL", 0, 1));
+                -1L, "ALL", 0, 1, null));
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getUserBookings(
-                0L, "ALL", 0, 1));
+                0L, "ALL", 0, 1, null));
     }
 
     @Test
     void getUserBookings_ifInvalidFrom_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getUserBookings(
-                1L, "ALL", -1, 1));
+                1L, "ALL", -1, 1, null));
     }
 
     @Test
     void getUserBookings_ifInvalidSize_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getUserBookings(
-                1L, "ALL", 0, -1));
+                1L, "ALL", 0, -1, null));
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getUserBookings(
-                1L, "ALL", 0, 0));
+                1L, "ALL", 0, 0, null));
     }
 
     @Test
     void getUserBookings_ifInvalidState_thenThrowBadRequestParamException() {
         BadRequestParamException ex = assertThrows(BadRequestParamException.class, () -> bookingClient.getUserBookings(
-                1L, "NotExistState", 0, 1));
+                1L, "NotExistState", 0, 1, null));
         assertEquals("Unknown state: NotExistState", ex.getMessage());
     }
 
     @Test
     void getOwnerBookings_ifInvalidOwnerId_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getOwnerBookings(
-                -1L, "ALL", 0, 1));
+                -1L, "ALL", 0, 1, null));
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getOwnerBookings(
-                0L, "ALL", 0, 1));
+                0L, "ALL", 0, 1, null));
     }
 
     @Test
     void getOwnerBookings_ifInvalidFrom_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getOwnerBookings(
-                1L, "ALL", -1, 1));
+                1L, "ALL", -1, 1, null));
     }
 
     @Test
     void getOwnerBookings_ifInvalidSize_thenThrowConstraintViolationException() {
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getOwnerBookings(
-                1L, "ALL", 0, -1));
+                1L, "ALL", 0, -1, null));
         assertThrows(ConstraintViolationException.class, () -> bookingClient.getOwnerBookings(
-                1L, "ALL", 0, 0));
+                1L, "ALL", 0, 0, null));
     }
 
     @Test
     void getOwnerBookings_ifInvalidState_thenThrowBadRequestParamException() {
         BadRequestParamException ex = assertThrows(BadRequestParamException.class, () -> bookingClient.getOwnerBookings(
-                1L, "NotExistState", 0, 1));
+                1L, "NotExistState", 0, 1, null));
         assertEquals("Unknown state: NotExistState", ex.getMessage());
     }
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+import ru.practicum.shareit.library.api.wire.WireFormat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+    private static final String BODY = "[{\"id\":1,\"name\":\"item\"}]";
+    private static final MediaType SMILE = WireFormat.SMILE.getMediaType();
+
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, ShareItServerProperties properties) {
+            super(rest, properties);
+        }
+
+        TestClient(RestTemplate rest, ShareItServerProperties properties,
+                   SingleFlight singleFlight, ServerCallGuard guard) {
+            super(rest, properties, singleFlight, guard);
+        }
+    }
+
+    private static RestTemplate restTemplate() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        return rest;
+    }
+
+    private static HttpHeaders headers(int contentLength) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentLength(contentLength);
+        headers.set("X-Next-Cursor", "cursor");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        return headers;
+    }
+
+    @Test
+    void get_ifPassthroughAndSmallResponse_thenRelayBytesAndHeaders() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo(SERVER_URL + "?from=0"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers(body.length)));
+
+        ResponseEntity<Object> actual = new TestClient(rest, new ShareItServerProperties())
+                .get("?from={from}", 1L, Map.of("from", 0));
+
+        server.verify();
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertArrayEquals(body, (byte[]) actual.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, actual.getHeaders().getContentType());
+        assertEquals("cursor", actual.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(actual.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void get_ifPassthroughAndLengthUnknown_thenRelayStream() throws Exception {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> actual = new TestClient(rest, new ShareItServerProperties()).get("", 1L);
+
+        assertTrue(actual.getBody() instanceof InputStreamResource);
+        try (InputStream body = ((InputStreamResource) actual.getBody()).getInputStream()) {
+            assertEquals(BODY, StreamUtils.copyToString(body, StandardCharsets.UTF_8));
+        }
+        assertEquals(MediaType.APPLICATION_JSON, actual.getHeaders().getContentType());
+    }
+
+    @Test
+    void getCoalesced_ifLengthUnknown_thenReadBodyForSharing() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/search?text=drill"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+        ShareItServerProperties properties = new ShareItServerProperties();
+        TestClient client = new TestClient(
+                rest, properties, new SingleFlight(properties.getSingleFlight(), null), null);
+
+        ResponseEntity<Object> actual = client.getCoalesced("items.search", "/search?text={text}", 1L,
+                Map.of("text", "drill"));
+
+        server.verify();
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) actual.getBody());
+    }
+
+    @Test
+    void get_ifServerError_thenRelayStatusAndBody() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        String error = "{\"status\":404}";
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error));
+
+        ResponseEntity<Object> actual = new TestClient(rest, new ShareItServerProperties()).get("/1", 1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, actual.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) actual.getBody());
+    }
+
+    @Test
+    void get_ifPassthroughDisabled_thenDeserializeBody() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL))
+                .andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setPassthrough(false);
+
+        ResponseEntity<Object> actual = new TestClient(rest, properties).get("", 1L);
+
+        assertTrue(actual.getBody() instanceof List);
+    }
+
+    @Test
+    void get_ifClientSentIfNoneMatch_thenForwardAndRelayNotModified() {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"item-1-3\"");
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"item-1-3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(responseHeaders));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"item-1-3\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        try {
+            ResponseEntity<Object> actual = new TestClient(rest, new ShareItServerProperties()).get("/1", 1L);
+
+            server.verify();
+            assertEquals(HttpStatus.NOT_MODIFIED, actual.getStatusCode());
+            assertEquals("\"item-1-3\"", actual.getHeaders().getETag());
+            assertNull(actual.getBody());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static ShareItServerProperties smileProperties() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setWireFormat(WireFormat.SMILE);
+        return properties;
+    }
+
+    private byte[] toSmile(String json) throws Exception {
+        return smileMapper.writeValueAsBytes(new ObjectMapper().readTree(json));
+    }
+
+    @Test
+    void get_ifWireFormatSmile_thenAcceptSmileAndRelayJson() throws Exception {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(header(HttpHeaders.ACCEPT, SMILE + ", " + MediaType.APPLICATION_JSON_VALUE))
+                .andRespond(withSuccess(toSmile(BODY), SMILE).headers(headers(toSmile(BODY).length)));
+
+        ResponseEntity<Object> actual = new TestClient(rest, smileProperties()).get("", 1L);
+
+        server.verify();
+        assertEquals(MediaType.APPLICATION_JSON, actual.getHeaders().getContentType());
+        assertEquals(BODY.length(), actual.getHeaders().getContentLength());
+        assertEquals("cursor", actual.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(BODY, new String((byte[]) actual.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void post_ifWireFormatSmile_thenSendSmileBody() throws Exception {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(SMILE))
+                .andExpect(content().bytes(smileMapper.writeValueAsBytes(Map.of("name", "item"))))
+                .andRespond(withSuccess(toSmile("{\"id\":1}"), SMILE));
+
+        ResponseEntity<Object> actual = new TestClient(rest, smileProperties())
+                .post("", 1L, Map.of("name", "item"));
+
+        server.verify();
+        assertEquals("{\"id\":1}", new String((byte[]) actual.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_ifWireFormatSmileAndPassthroughDisabled_thenRelayErrorAsJson() throws Exception {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        String error = "{\"status\":404}";
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(SMILE)
+                        .body(toSmile(error)));
+        ShareItServerProperties properties = smileProperties();
+        properties.setPassthrough(false);
+
+        ResponseEntity<Object> actual = new TestClient(rest, properties).get("/1", 1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, actual.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, actual.getHeaders().getContentType());
+        assertEquals(error, new String((byte[]) actual.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_ifWireFormatSmileAndPassthroughDisabled_thenRelayBodyAsJson() throws Exception {
+        RestTemplate rest = restTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        byte[] smileBody = toSmile(BODY);
+        server.expect(requestTo(SERVER_URL))
+                .andRespond(withSuccess(smileBody, SMILE).headers(headers(smileBody.length)));
+        ShareItServerProperties properties = smileProperties();
+        properties.setPassthrough(false);
+
+        ResponseEntity<Object> actual = new TestClient(rest, properties).get("", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, actual.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, actual.getHeaders().getContentType());
+        assertFalse(actual.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertFalse(actual.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertEquals("cursor", actual.getHeaders().getFirst("X-Next-Cursor"));
+        assertTrue(actual.getBody() instanceof List);
+        assertEquals(1, ((List<?>) actual.getBody()).size());
+    }
+}
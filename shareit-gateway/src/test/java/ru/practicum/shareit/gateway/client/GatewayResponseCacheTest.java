@@ -0,0 +1,138 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GatewayResponseCacheTest {
+    private static final long TTL = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<ResponseEntity<Object>> loader(ResponseEntity<Object> response) {
+        return () -> {
+            loads.incrementAndGet();
+            return response;
+        };
+    }
+
+    @Test
+    void get_ifCached_thenNotLoadAgain() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+        ResponseEntity<Object> response = ResponseEntity.ok(new byte[]{1});
+
+        cache.get("/items/1", 1L, loader(response));
+        ResponseEntity<Object> actual = cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{2})));
+
+        assertSame(response, actual);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ifOtherUser_thenLoadSeparately() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 2L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ifTtlExpired_thenLoadAgain() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+
+        cache.get("/users/1", null, loader(ResponseEntity.ok(new byte[]{1})));
+        now.addAndGet(TTL);
+        cache.get("/users/1", null, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ifMaxSizeExceeded_thenEvictLeastRecentlyUsed() {
+        GatewayResponseCache cache = new GatewayResponseCache(2, TTL, now::get);
+
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/2", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/3", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/2", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_ifErrorOrStream_thenNotCache() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+
+        cache.get("/items/1", 1L, loader(ResponseEntity.status(HttpStatus.NOT_FOUND).body(new byte[]{1})));
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new ByteArrayResource(new byte[]{1}))));
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evict_ifPathCachedForSeveralUsers_thenEvictAll() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 2L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/2", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        cache.evict("/items/1");
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 2L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/2", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void evictByPrefix_ifInvoked_thenKeepOtherPaths() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/requests/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        cache.evictByPrefix("/items/");
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/requests/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_ifEvictedDuringLoad_thenNotCache() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, TTL, now::get);
+
+        cache.get("/items/1", 1L, () -> {
+            loads.incrementAndGet();
+            cache.evict("/items/1");
+            return ResponseEntity.ok(new byte[]{1});
+        });
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ifDisabled_thenAlwaysLoad() {
+        GatewayResponseCache cache = new GatewayResponseCache(0, TTL, now::get);
+
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+        cache.get("/items/1", 1L, loader(ResponseEntity.ok(new byte[]{1})));
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ReactiveBaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+    private static final String BODY = "[{\"id\":1,\"name\":\"item\"}]";
+
+    private static class TestClient extends ReactiveBaseClient {
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+    }
+
+    private static TestClient client(AtomicReference<ClientRequest> captured, ClientResponse response) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(SERVER_URL)
+                .exchangeFunction(request -> {
+                    captured.set(request);
+                    return Mono.just(response);
+                })
+                .build();
+        return new TestClient(webClient);
+    }
+
+    @Test
+    void get_ifServerResponds_thenRelayBytesAndHeaders() {
+        AtomicReference<ClientRequest> captured = new AtomicReference<>();
+        TestClient client = client(captured, ClientResponse.create(HttpStatus.OK)
+                .header("X-Next-Cursor", "cursor")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body(BODY)
+                .build());
+
+        ResponseEntity<Object> response = client.get("?from={from}", 1L, Map.of("from", 0)).block();
+
+        assertNotNull(response);
+        assertEquals(HttpMethod.GET, captured.get().method());
+        assertEquals(SERVER_URL + "?from=0", captured.get().url().toString());
+        assertEquals("1", captured.get().headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("cursor", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void post_ifServerRespondsWithError_thenRelayStatusAndBody() {
+        AtomicReference<ClientRequest> captured = new AtomicReference<>();
+        String error = "{\"error\":\"Пользователь не найден\"}";
+        TestClient client = client(captured, ClientResponse.create(HttpStatus.NOT_FOUND)
+                .body(error)
+                .build());
+
+        ResponseEntity<Object> response = client.post("", 2L, Map.of("name", "item")).block();
+
+        assertNotNull(response);
+        assertEquals(HttpMethod.POST, captured.get().method());
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void delete_ifServerRespondsWithoutBody_thenRelayStatusOnly() {
+        AtomicReference<ClientRequest> captured = new AtomicReference<>();
+        TestClient client = client(captured, ClientResponse.create(HttpStatus.OK).build());
+
+        ResponseEntity<Object> response = client.delete("/1").block();
+
+        assertNotNull(response);
+        assertEquals(HttpMethod.DELETE, captured.get().method());
+        assertEquals(SERVER_URL + "/1", captured.get().url().toString());
+        assertFalse(captured.get().headers().containsKey("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.hasBody());
+    }
+}
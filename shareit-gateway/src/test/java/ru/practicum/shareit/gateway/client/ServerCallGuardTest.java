@@ -0,0 +1,133 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.library.api.exception.ServiceUnavailableException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServerCallGuardTest {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Bulkhead bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("shareit-server", CircuitBreakerConfig.custom()
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(2)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .build());
+
+    private final ServerCallGuard guard = new ServerCallGuard(bulkhead, circuitBreaker);
+
+    private Supplier<ResponseEntity<Object>> respond(HttpStatus status) {
+        return () -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(status).build();
+        };
+    }
+
+    @Test
+    void call_ifServerErrors_thenOpenCircuitAndFailFast() {
+        guard.call(respond(HttpStatus.INTERNAL_SERVER_ERROR));
+        guard.call(respond(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(ServiceUnavailableException.class, () -> guard.call(respond(HttpStatus.OK)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void call_ifClientErrors_thenKeepCircuitClosed() {
+        guard.call(respond(HttpStatus.NOT_FOUND));
+        guard.call(respond(HttpStatus.BAD_REQUEST));
+        guard.call(respond(HttpStatus.OK));
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void call_ifIoError_thenRecordFailureAndRethrow() {
+        Supplier<ResponseEntity<Object>> failing = () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Read timed out");
+        };
+
+        assertThrows(ResourceAccessException.class, () -> guard.call(failing));
+        assertThrows(ResourceAccessException.class, () -> guard.call(failing));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void call_ifBulkheadFull_thenFailFastWithoutCall() {
+        ResponseEntity<Object> response = guard.call(() -> {
+            assertThrows(ServiceUnavailableException.class, () -> guard.call(respond(HttpStatus.OK)));
+            return ResponseEntity.ok().build();
+        });
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, calls.get());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private static InputStream body(ResponseEntity<Object> response) throws IOException {
+        return ((InputStreamResource) response.getBody()).getInputStream();
+    }
+
+    @Test
+    void call_ifStreamedBody_thenCompleteWhenStreamClosed() throws IOException {
+        ResponseEntity<Object> response = guard.call(() -> ResponseEntity.ok()
+                .body(new InputStreamResource(new ByteArrayInputStream(new byte[]{1, 2, 3}))));
+
+        assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+
+        try (InputStream body = body(response)) {
+            assertEquals(3, StreamUtils.copyToByteArray(body).length);
+        }
+
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void call_ifStreamedBodyFails_thenRecordFailureOnClose() throws IOException {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        ResponseEntity<Object> response = guard.call(() -> ResponseEntity.ok().body(new InputStreamResource(failing)));
+
+        try (InputStream body = body(response)) {
+            assertThrows(IOException.class, () -> StreamUtils.copyToByteArray(body));
+        }
+
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+}
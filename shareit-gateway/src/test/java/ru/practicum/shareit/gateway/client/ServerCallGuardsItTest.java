@@ -0,0 +1,42 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "resilience4j.bulkhead.instances.items.max-concurrent-calls=7")
+class ServerCallGuardsItTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void bulkheadMetrics_ifClientsCreated_thenRegisteredPerGroup() {
+        for (String group : new String[]{"bookings", "items", "requests", "users"}) {
+            assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls")
+                    .tag("name", group)
+                    .gauge(), group);
+        }
+        Gauge items = meterRegistry.find("resilience4j.bulkhead.max.allowed.concurrent.calls")
+                .tag("name", "items")
+                .gauge();
+
+        assertNotNull(items);
+        assertEquals(7, items.value());
+    }
+
+    @Test
+    void circuitBreakerMetrics_ifClientsCreated_thenRegistered() {
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state")
+                .tag("name", ServerCallGuards.CIRCUIT_BREAKER)
+                .gauges()
+                .stream()
+                .findAny()
+                .orElse(null));
+    }
+}
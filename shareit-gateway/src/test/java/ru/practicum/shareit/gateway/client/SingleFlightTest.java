@@ -0,0 +1,171 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.gateway.config.ShareItServerProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private static final String ROUTE = "items.search";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private Supplier<ResponseEntity<Object>> blockingCall(ResponseEntity<Object> response) {
+        return () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        };
+    }
+
+    // ждёт, пока все запросы, кроме первого, присоединятся к его вызову
+    private static void awaitCoalesced(SingleFlight singleFlight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalescedCount(ROUTE) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void execute_ifConcurrentSameKey_thenCallOnceAndShareResponse() throws Exception {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight singleFlight = new SingleFlight(new ShareItServerProperties.SingleFlight(), meterRegistry);
+        ResponseEntity<Object> response = ResponseEntity.ok(new byte[]{1});
+
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(ROUTE, "/search?text=a", blockingCall(response))));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(ROUTE, "/search?text=a", blockingCall(response))));
+        }
+        awaitCoalesced(singleFlight, 4);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(4, singleFlight.getCoalescedCount(ROUTE));
+        FunctionCounter counter = meterRegistry.find("shareit.gateway.single-flight.coalesced")
+                .tag("route", ROUTE)
+                .functionCounter();
+        assertNotNull(counter);
+        assertEquals(4.0, counter.count());
+    }
+
+    @Test
+    void execute_ifDifferentKeys_thenCallSeparately() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(new ShareItServerProperties.SingleFlight(), null);
+
+        Future<ResponseEntity<Object>> first = executor.submit(
+                () -> singleFlight.execute(ROUTE, "/search?text=a", blockingCall(ResponseEntity.ok("a"))));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ResponseEntity<Object> second = singleFlight.execute(ROUTE, "/search?text=b", () -> ResponseEntity.ok("b"));
+        release.countDown();
+
+        assertEquals("a", first.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals("b", second.getBody());
+        assertEquals(0, singleFlight.getCoalescedCount(ROUTE));
+    }
+
+    @Test
+    void execute_ifWriteAfterCallStarted_thenNotJoin() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(new ShareItServerProperties.SingleFlight(), null);
+        ResponseEntity<Object> stale = ResponseEntity.ok("stale");
+
+        Future<ResponseEntity<Object>> first = executor.submit(
+                () -> singleFlight.execute(ROUTE, "/1", blockingCall(stale)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        singleFlight.onWrite();
+        ResponseEntity<Object> second = singleFlight.execute(ROUTE, "/1", () -> ResponseEntity.ok("fresh"));
+        release.countDown();
+
+        assertSame(stale, first.get(5, TimeUnit.SECONDS));
+        assertNotSame(stale, second);
+        assertEquals("fresh", second.getBody());
+    }
+
+    @Test
+    void execute_ifCallFailed_thenThrowToAllWaiting() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(new ShareItServerProperties.SingleFlight(), null);
+        Supplier<ResponseEntity<Object>> failing = () -> {
+            blockingCall(null).get();
+            throw new ResourceAccessException("timeout");
+        };
+
+        Future<ResponseEntity<Object>> first = executor.submit(() -> singleFlight.execute(ROUTE, "/1", failing));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<ResponseEntity<Object>> second = executor.submit(() -> singleFlight.execute(ROUTE, "/1", failing));
+        awaitCoalesced(singleFlight, 1);
+        release.countDown();
+
+        Exception firstError = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception secondError = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertTrue(firstError.getCause() instanceof ResourceAccessException);
+        assertTrue(secondError.getCause() instanceof ResourceAccessException);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void isEnabled_ifRouteConfigured_thenUseRouteValue() {
+        ShareItServerProperties.SingleFlight properties = new ShareItServerProperties.SingleFlight();
+        properties.getRoutes().put("items.search", false);
+        SingleFlight singleFlight = new SingleFlight(properties, null);
+
+        assertFalse(singleFlight.isEnabled("items.search"));
+        assertTrue(singleFlight.isEnabled("items.get"));
+    }
+
+    @Test
+    void isEnabled_ifRouteBoundFromProperties_thenKeepDottedRouteName() {
+        MapConfigurationPropertySource source = new MapConfigurationPropertySource(Map.of(
+                "shareit-server.single-flight.enabled", "false",
+                "shareit-server.single-flight.routes.items.search", "true"));
+        ShareItServerProperties properties = new Binder(source)
+                .bind("shareit-server", ShareItServerProperties.class)
+                .get();
+        SingleFlight singleFlight = new SingleFlight(properties.getSingleFlight(), null);
+
+        assertTrue(singleFlight.isEnabled("items.search"));
+        assertFalse(singleFlight.isEnabled("items.get"));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = {
+        "shareit-server.max-connections=7",
+        "shareit-server.max-connections-per-route=3"
+})
+class ShareItServerHttpClientConfigItTest {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void connectionManager_ifPropertiesSet_thenApplyPoolLimits() {
+        assertEquals(7, connectionManager.getMaxTotal());
+        assertEquals(3, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void connectionPoolMetrics_ifInvoked_thenRegistered() {
+        Gauge maxTotal = meterRegistry.find("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server")
+                .gauge();
+
+        assertNotNull(maxTotal);
+        assertEquals(7, maxTotal.value());
+    }
+}
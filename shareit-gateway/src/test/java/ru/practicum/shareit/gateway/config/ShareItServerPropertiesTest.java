@@ -0,0 +1,29 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShareItServerPropertiesTest {
+
+    @Test
+    void getUrl_ifUrlEmptyAndUrlsSet_thenReturnFirstOfUrls() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("");
+        properties.setUrls(List.of("http://server-1:9090", "http://server-2:9090"));
+
+        assertEquals("http://server-1:9090", properties.getUrl());
+        assertEquals(List.of("http://server-1:9090", "http://server-2:9090"), properties.resolveEndpoints());
+    }
+
+    @Test
+    void resolveEndpoints_ifOnlyUrlSet_thenReturnUrl() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:9090");
+
+        assertEquals("http://localhost:9090", properties.getUrl());
+        assertEquals(List.of("http://localhost:9090"), properties.resolveEndpoints());
+    }
+}
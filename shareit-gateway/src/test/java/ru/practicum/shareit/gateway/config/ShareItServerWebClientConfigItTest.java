@@ -0,0 +1,32 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.gateway.item.ItemControllerImpl;
+import ru.practicum.shareit.gateway.item.ReactiveItemControllerImpl;
+import ru.practicum.shareit.gateway.item.service.ItemClient;
+import ru.practicum.shareit.gateway.item.service.ReactiveItemClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "shareit-server.url=http://localhost:9090")
+@ActiveProfiles("reactive")
+class ShareItServerWebClientConfigItTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void context_ifReactiveProfile_thenOnlyReactiveControllersAndClients() {
+        assertNotNull(context.getBean(ClientHttpConnector.class));
+        assertNotNull(context.getBean(ReactiveItemControllerImpl.class));
+        assertNotNull(context.getBean(ReactiveItemClient.class));
+        assertEquals(0, context.getBeanNamesForType(ItemControllerImpl.class).length);
+        assertEquals(0, context.getBeanNamesForType(ItemClient.class).length);
+    }
+}
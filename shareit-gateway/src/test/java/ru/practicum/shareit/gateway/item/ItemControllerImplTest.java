@@ -6,17 +6,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.gateway.item.service.ItemClient;
 import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemControllerImpl.class)
@@ -97,4 +104,32 @@ class ItemControllerImplTest {
                 .andExpect(status().isOk());
         verify(itemClient).createComment(1L, 2L, expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability() {
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("from", "2100-01-01T00:00:00")
+                        .param("to", "2100-01-02T00:00:00"))
+                .andExpect(status().isOk());
+        verify(itemClient).getItemAvailability(2L, 1L, "2100-01-01T00:00:00", "2100-01-02T00:00:00");
+    }
+
+    @Test
+    @SneakyThrows
+    void getOwnedItems_ifServerResponseStreamed_thenWriteBodyAsIs() {
+        String body = "[{\"id\":1}]";
+        when(itemClient.getOwnedItems(1L, 0, 10)).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new InputStreamResource(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)))));
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(body));
+    }
+}
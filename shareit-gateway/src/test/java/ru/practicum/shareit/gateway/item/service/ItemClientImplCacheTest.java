@@ -0,0 +1,87 @@
+package ru.practicum.shareit.gateway.item.service;
+
+import io.github.resilience4j.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.response.DefaultResponseCreator;
+import ru.practicum.shareit.gateway.client.GatewayResponseCache;
+import ru.practicum.shareit.gateway.client.ServerCallGuards;
+import ru.practicum.shareit.gateway.client.SingleFlight;
+import ru.practicum.shareit.gateway.config.ShareItServerHttpClientConfig;
+import ru.practicum.shareit.gateway.config.ShareItServerLoadBalancerConfig;
+import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
+
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+@RestClientTest(value = ItemClientImpl.class, properties = "shareit-server.url=http://localhost:9090")
+@Import({ShareItServerHttpClientConfig.class, ShareItServerLoadBalancerConfig.class, GatewayResponseCache.class,
+        SingleFlight.class, ServerCallGuards.class})
+@ImportAutoConfiguration({BulkheadAutoConfiguration.class, CircuitBreakerAutoConfiguration.class})
+class ItemClientImplCacheTest {
+    private static final String ITEM_URL = "http://localhost:9090/items/1";
+    private static final String BODY = "{\"id\":1}";
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Autowired
+    private GatewayResponseCache responseCache;
+
+    @BeforeEach
+    void clearCache() {
+        responseCache.evictAll();
+    }
+
+    // кэшируются только ответы, прочитанные целиком, то есть с известной длиной
+    private static DefaultResponseCreator itemResponse() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentLength(BODY.length());
+        return withStatus(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers)
+                .body(BODY);
+    }
+
+    @Test
+    void getItemById_ifRepeated_thenRequestServerOnce() {
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(itemResponse());
+
+        itemClient.getItemById(1L, 1L);
+        itemClient.getItemById(1L, 1L);
+
+        server.verify();
+    }
+
+    @Test
+    void getItemById_ifUpdatedThroughGateway_thenRequestServerAgain() {
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(itemResponse());
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(method(HttpMethod.PATCH))
+                .andRespond(itemResponse());
+        server.expect(once(), requestTo(ITEM_URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(itemResponse());
+
+        itemClient.getItemById(1L, 1L);
+        itemClient.updateItem(1L, 1L, UpdateItemDto.builder().name("new").build());
+        itemClient.getItemById(1L, 1L);
+
+        server.verify();
+    }
+}
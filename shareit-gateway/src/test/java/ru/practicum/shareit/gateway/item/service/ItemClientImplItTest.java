@@ -144,4 +144,14 @@ class ItemClientImplItTest {
         assertThrows(ConstraintViolationException.class, () -> itemClient.createComment(
                 1L, 0L, CreateCommentDto.builder().text("text").build()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability_ifInvalidArgs_thenThrowConstraintViolationException() {
+        assertThrows(ConstraintViolationException.class, () -> itemClient.getItemAvailability(
+                0L, 1L, "2100-01-01T00:00:00", "2100-01-02T00:00:00"));
+        assertThrows(ConstraintViolationException.class, () -> itemClient.getItemAvailability(
+                1L, 0L, "2100-01-01T00:00:00", "2100-01-02T00:00:00"));
+        assertThrows(ConstraintViolationException.class, () -> itemClient.getItemAvailability(
+                1L, 1L, " ", "2100-01-02T00:00:00"));
+    }
+}
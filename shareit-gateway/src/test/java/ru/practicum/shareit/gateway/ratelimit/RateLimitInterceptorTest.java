@@ -0,0 +1,88 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.gateway.item.ItemControllerImpl;
+import ru.practicum.shareit.gateway.item.service.ItemClient;
+import ru.practicum.shareit.library.api.ApiExceptionHandlerAutoConfig;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemControllerImpl.class)
+@ImportAutoConfiguration(ApiExceptionHandlerAutoConfig.class)
+@TestPropertySource(properties = {
+        "shareit-gateway.rate-limit.routes[/items/search].rate=0.001",
+        "shareit-gateway.rate-limit.routes[/items/search].burst=2"
+})
+class RateLimitInterceptorTest {
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SneakyThrows
+    void searchItems_ifUserLimitExceeded_thenStatus429BeforeClient() {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/items/search?text=text")
+                            .header("X-Sharer-User-Id", 1L))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/items/search?text=text")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+        mockMvc.perform(get("/items/search?text=text")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        verify(itemClient, times(3)).searchItems(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemById_ifConcurrencyLimitReached_thenStatus429() {
+        int taken = 0;
+        while (rateLimiter.tryEnter()) {
+            taken++;
+        }
+        try {
+            mockMvc.perform(get("/items/1")
+                            .header("X-Sharer-User-Id", 3L))
+                    .andExpect(status().isTooManyRequests());
+        } finally {
+            for (int i = 0; i < taken; i++) {
+                rateLimiter.exit();
+            }
+        }
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 3L))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.gateway.config.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+    private static final String SEARCH = "/items/search";
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit search = new RateLimitProperties.Limit();
+        search.setRate(2);
+        search.setBurst(3);
+        properties.getRoutes().put(SEARCH, search);
+        properties.setMaxConcurrentRequests(2);
+        properties.setMaxKeys(2);
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        properties.setFullSweepInterval(Duration.ofSeconds(1));
+        properties.setOverflowLimit(new RateLimitProperties.Limit(1, 1));
+        return properties;
+    }
+
+    @Test
+    void tryAcquire_ifBurstExceeded_thenReturnWaitUntilNextToken() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "1"));
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "1"));
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "1"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.tryAcquire(SEARCH, "1"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "1"));
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "1") > 0);
+    }
+
+    @Test
+    void tryAcquire_ifOtherUserOrRoute_thenLimitSeparately() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(SEARCH, "1");
+        }
+
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "1") > 0);
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "2"));
+        assertEquals(0L, rateLimiter.tryAcquire("/items", "1"));
+    }
+
+    @Test
+    void tryAcquire_ifMaxKeysReached_thenEvictFullBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "2");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "3"));
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_ifMaxKeysReachedByActiveUsers_thenNotStoreNewUser() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "2");
+
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "3"));
+
+        assertEquals(2, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_ifMaxKeysReached_thenNewUsersShareOverflowLimit() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "2");
+
+        assertEquals(0L, rateLimiter.tryAcquire(SEARCH, "3"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire(SEARCH, "4"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.tryAcquire("/items", "5"));
+    }
+
+    @Test
+    void tryAcquire_ifMaxKeysReached_thenSweepAtMostOncePerInterval() {
+        RateLimitProperties properties = properties();
+        properties.setFullSweepInterval(Duration.ofSeconds(10));
+        RateLimiter rateLimiter = new RateLimiter(properties, now::get);
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "2");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.tryAcquire(SEARCH, "3");
+        assertEquals(2, rateLimiter.size());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        rateLimiter.tryAcquire(SEARCH, "4");
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_ifIdleTimeoutPassed_thenEvictIdleBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+        rateLimiter.tryAcquire(SEARCH, "1");
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        rateLimiter.tryAcquire(SEARCH, "2");
+
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryEnter_ifMaxConcurrentRequestsReached_thenReject() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), now::get);
+
+        assertTrue(rateLimiter.tryEnter());
+        assertTrue(rateLimiter.tryEnter());
+        assertFalse(rateLimiter.tryEnter());
+
+        rateLimiter.exit();
+        assertTrue(rateLimiter.tryEnter());
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,18 +12,26 @@ import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.EnumMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.library.api.booking.BookingController;
-import ru.practicum.shareit.library.api.booking.dto.BookingDto;
+import ru.practicum.shareit.library.api.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.library.api.exception.BadRequestException;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
-public class BookingControllerImpl implements BookingController {
+public class BookingControllerImpl implements BookingController<ResponseEntity<Object>> {
 
     private final EnumMapper enumMapper;
     private final BookingMapper bookingMapper;
@@ -40,6 +49,40 @@ public class BookingControllerImpl implements BookingController {
         return ResponseEntity.ok(bookingMapper.mapBookingToBookingDto(createdBooking));
     }
 
+    @Override
+    public ResponseEntity<Object> createBookingRequests(
+            @RequestHeader("X-Sharer-User-Id") long userId, @RequestBody List<CreateBookingDto> createBookingDtos) {
+
+        // блокировка вещей и вставка выполняются в одной транзакции: размер пакета ограничен и без шлюза
+        if (createBookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException(String.format(
+                    "Количество бронирований в пакете больше %d: %d", MAX_BATCH_SIZE, createBookingDtos.size()));
+        }
+        BookingBatchResult[] results = new BookingBatchResult[createBookingDtos.size()];
+        List<Integer> parsedIndexes = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < createBookingDtos.size(); i++) {
+            if (createBookingDtos.get(i) == null) {
+                results[i] = BookingBatchResult.failed(new BadRequestException("Не задано бронирование"));
+                continue;
+            }
+            try {
+                bookings.add(bookingMapper.mapCreateBookingDtoToBooking(createBookingDtos.get(i)));
+                parsedIndexes.add(i);
+            } catch (DateTimeParseException e) {
+                results[i] = BookingBatchResult.failed(new BadRequestException(
+                        String.format("Неверный формат даты бронирования: %s", e.getParsedString())));
+            }
+        }
+        List<BookingBatchResult> created = bookingService.createBookingRequests(userId, bookings);
+        for (int i = 0; i < created.size(); i++) {
+            results[parsedIndexes.get(i)] = created.get(i);
+        }
+        return ResponseEntity.ok(Arrays.stream(results)
+                .map(this::mapBatchResult)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public ResponseEntity<Object> approveBooking(
             @RequestHeader("X-Sharer-User-Id") long ownerId, @PathVariable long bookingId, @RequestParam boolean approved) {
@@ -63,13 +106,15 @@ public class BookingControllerImpl implements BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "20") int size) {
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String after) {
 
         StateFilter stateFilter = enumMapper.mapStringToStateFilter(state);
-        List<BookingDto> listDto = bookingMapper.mapBookingToBookingDto(
-                bookingService.getUserBookings(stateFilter, userId, from, size));
+        List<Booking> bookings = after == null
+                ? bookingService.getUserBookings(stateFilter, userId, from, size)
+                : bookingService.getUserBookings(stateFilter, userId, BookingCursor.decode(after), size);
 
-        return ResponseEntity.ok(listDto);
+        return pageResponse(bookings, size);
     }
 
     @Override
@@ -77,12 +122,49 @@ public class BookingControllerImpl implements BookingController {
             @RequestHeader("X-Sharer-User-Id") long ownerId,
             @RequestParam(required = false, defaultValue = "ALL") String state,
             @RequestParam(required = false, defaultValue = "0") int from,
-            @RequestParam(required = false, defaultValue = "20") int size) {
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String after) {
 
         StateFilter stateFilter = enumMapper.mapStringToStateFilter(state);
-        List<BookingDto> listDto = bookingMapper.mapBookingToBookingDto(
-                bookingService.getOwnerBookings(stateFilter, ownerId, from, size));
+        List<Booking> bookings = after == null
+                ? bookingService.getOwnerBookings(stateFilter, ownerId, from, size)
+                : bookingService.getOwnerBookings(stateFilter, ownerId, BookingCursor.decode(after), size);
+
+        return pageResponse(bookings, size);
+    }
+
+    private BookingBatchResultDto mapBatchResult(BookingBatchResult result) {
+        if (result.getError() == null) {
+            return BookingBatchResultDto.builder()
+                    .status(HttpStatus.OK.value())
+                    .booking(bookingMapper.mapBookingToBookingDto(result.getBooking()))
+                    .build();
+        }
+        return BookingBatchResultDto.builder()
+                .status(errorStatus(result.getError()).value())
+                .error(result.getError().getMessage())
+                .build();
+    }
+
+    // те же статусы, что ApiExceptionHandler возвращает для POST /bookings
+    private static HttpStatus errorStatus(RuntimeException error) {
+        if (error instanceof NotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (error instanceof ConflictException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (error instanceof BadRequestException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
 
-        return ResponseEntity.ok(listDto);
+    private ResponseEntity<Object> pageResponse(List<Booking> bookings, int size) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            builder.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return builder.body(bookingMapper.mapBookingToBookingDto(bookings));
     }
 }
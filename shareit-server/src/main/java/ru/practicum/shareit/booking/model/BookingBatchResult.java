@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Результат создания одного бронирования из пакета: созданное бронирование или причина отказа.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingBatchResult {
+    @Nullable
+    private final Booking booking;
+    @Nullable
+    private final RuntimeException error;
+
+    public static BookingBatchResult created(Booking booking) {
+        return new BookingBatchResult(booking, null);
+    }
+
+    public static BookingBatchResult failed(RuntimeException error) {
+        return new BookingBatchResult(null, error);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.library.api.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в списке бронирований, отсортированном по (end desc, id desc).
+ * Клиенту передаётся как непрозрачная строка.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BookingCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime end;
+    private final long id;
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getEnd(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = end.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int pos = raw.lastIndexOf(SEPARATOR);
+            if (pos < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new BookingCursor(
+                    LocalDateTime.parse(raw.substring(0, pos)),
+                    Long.parseLong(raw.substring(pos + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException(String.format("Некорректный курсор: %s", token));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.validator.NewBooking;
 
@@ -12,11 +15,25 @@ import java.util.Optional;
 public interface BookingService {
     Booking createBookingRequest(@Valid @NewBooking Booking booking);
 
+    /**
+     * Создание нескольких бронирований одного пользователя в одной транзакции. Бронирование, не прошедшее
+     * проверки createBookingRequest, не создаётся, но не мешает созданию остальных.
+     *
+     * @param bookerId id пользователя
+     * @param bookings новые бронирования
+     * @return результаты в порядке бронирований
+     */
+    List<BookingBatchResult> createBookingRequests(long bookerId, @NonNull List<Booking> bookings);
+
     Optional<Booking> getBookingById(long bookingId, long userId);
 
     Booking checkOwnerAndApproveBooking(long bookingId, long ownerId, boolean approved);
 
     List<Booking> getUserBookings(@NonNull StateFilter state, long userId, int from, int size);
 
+    List<Booking> getUserBookings(@NonNull StateFilter state, long userId, @Nullable BookingCursor after, int size);
+
     List<Booking> getOwnerBookings(@NonNull StateFilter state, long ownerId, int from, int size);
+
+    List<Booking> getOwnerBookings(@NonNull StateFilter state, long ownerId, @Nullable BookingCursor after, int size);
 }
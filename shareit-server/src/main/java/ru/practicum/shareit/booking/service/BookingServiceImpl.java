@@ -3,17 +3,23 @@ package ru.practicum.shareit.booking.service;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.booking.validator.NewBooking;
+import ru.practicum.shareit.booking.validator.NewBookingConstraintValidator;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -22,8 +28,17 @@ import ru.practicum.shareit.user.storage.UserStorage;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +48,7 @@ public class BookingServiceImpl implements BookingService {
     private final BookingStorage bookingStorage;
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @Transactional
@@ -51,22 +67,97 @@ public class BookingServiceImpl implements BookingService {
         Item item = Optional.of(booking)
                 .map(Booking::getItem)
                 .map(Item::getId)
-                .map(id -> itemStorage.findById(id)
+                // блокировка вещи до конца транзакции: проверка пересечений и подтверждение
+                // бронирований одной вещи выполняются последовательно
+                .map(id -> itemStorage.findByIdForUpdate(id)
                         .orElseThrow(() -> new NotFoundException(String.format("Не найдена вещь с id=%d.", id))))
                 .orElseThrow(() -> new IllegalArgumentException("Не указан id вещи."));
 
-        if (!item.getAvailable()) {
-            throw new BadRequestException(String.format("Вещь с id=%d недоступна для аренды.", item.getId()));
-        }
-        if (bookerId == item.getOwner().getId()) {
-            throw new NotFoundException("Действие недоступно для владельца бронируемой вещи");
-        }
+        checkBookable(item, bookerId);
+        checkNoOverlap(item.getId(), booking.getStart(), booking.getEnd());
         Booking newBooking = booking
                 .toBuilder()
                 .item(item) // результат, возвращаемый клиенту API, должен включать подробные сведения об item
                 .build();
 
-        return bookingStorage.save(newBooking);
+        Booking created = bookingStorage.save(newBooking);
+        onItemBookingsChanged(item.getId());
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createBookingRequests(long bookerId, @NonNull List<Booking> bookings) {
+        if (!userStorage.existsById(bookerId)) {
+            throw new NotFoundException(String.format("Не найден пользователь с id=%d.", bookerId));
+        }
+        // вещи всех бронирований читаются и блокируются одним запросом, как в createBookingRequest
+        Set<Long> itemIds = bookings.stream()
+                .map(Booking::getItem)
+                .filter(Objects::nonNull)
+                .map(Item::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemStorage.findAllByIdForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResult[] results = new BookingBatchResult[bookings.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            try {
+                checkNewBooking(bookings.get(i), bookerId, items);
+                accepted.add(i);
+            } catch (BadRequestException | NotFoundException e) {
+                results[i] = BookingBatchResult.failed(e);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // подтверждённые бронирования, пересекающиеся с принятыми, читаются одним запросом
+        LocalDateTime from = accepted.stream()
+                .map(i -> bookings.get(i).getStart())
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime to = accepted.stream()
+                .map(i -> bookings.get(i).getEnd())
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        Set<Long> acceptedItemIds = accepted.stream()
+                .map(i -> bookings.get(i).getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, List<Booking>> approved = bookingStorage.findApprovedOverlapping(acceptedItemIds, from, to)
+                .stream()
+                .collect(Collectors.groupingBy(b -> b.getItem().getId()));
+
+        List<Integer> createdIndexes = new ArrayList<>();
+        List<Booking> newBookings = new ArrayList<>();
+        for (int i : accepted) {
+            Booking booking = bookings.get(i);
+            Item item = items.get(booking.getItem().getId());
+            boolean overlaps = approved.getOrDefault(item.getId(), List.of()).stream()
+                    .anyMatch(b -> b.getStart().isBefore(booking.getEnd()) && b.getEnd().isAfter(booking.getStart()));
+            if (overlaps) {
+                results[i] = BookingBatchResult.failed(
+                        overlapException(item.getId(), booking.getStart(), booking.getEnd()));
+                continue;
+            }
+            createdIndexes.add(i);
+            newBookings.add(booking.toBuilder()
+                    .booker(User.builder().id(bookerId).build())
+                    .item(item)
+                    .status(BookStatus.WAITING)
+                    .build());
+        }
+
+        // вставка пакетами JDBC (hibernate.jdbc.batch_size)
+        List<Booking> created = bookingStorage.saveAll(newBookings);
+        for (int i = 0; i < created.size(); i++) {
+            results[createdIndexes.get(i)] = BookingBatchResult.created(created.get(i));
+        }
+        onItemsBookingsChanged(created.stream().map(b -> b.getItem().getId()).collect(Collectors.toSet()));
+        return Arrays.asList(results);
     }
 
     @Override
@@ -85,36 +176,60 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Booking checkOwnerAndApproveBooking(long bookingId, long ownerId, boolean approved) {
-        BooleanExpression byBookingId = QBooking.booking.id.eq(bookingId);
-        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
-        final Booking booking = bookingStorage.findAny(byBookingId.and(byOwnerId))
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Не найдено бронирование с id='%d' и ownerId='%d'.", bookingId, ownerId)));
-        if (booking.getStatus() != BookStatus.WAITING) {
+        if (approved) {
+            return approveBooking(bookingId, ownerId);
+        }
+        // блокировка вещи до UPDATE бронирования: тот же порядок блокировок, что и при подтверждении
+        itemStorage.findByBookingIdForUpdate(bookingId);
+        final long updatedCount = bookingStorage.updateStatusIfWaiting(bookingId, ownerId, BookStatus.REJECTED);
+
+        // после UPDATE запись читается один раз: для ответа или для выяснения причины отказа
+        final Booking booking = findOwnerBooking(bookingId, ownerId);
+        if (updatedCount == 0) {
             throw new BadRequestException(String.format("Статус записи '%s' != '%s'",
                     booking.getStatus().name(), BookStatus.WAITING.name()));
         }
-        final Booking updated = booking.toBuilder()
-                .status(approved ? BookStatus.APPROVED : BookStatus.REJECTED)
-                .build();
-        return bookingStorage.save(updated);
+        onItemBookingsChanged(booking.getItem().getId());
+        return booking;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Booking> getUserBookings(@NonNull StateFilter state, long userId, int from, int size) {
+        return bookingStorage.findAllBookingOrderByDateDesc(userBookingsCondition(state, userId), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getUserBookings(
+            @NonNull StateFilter state, long userId, @Nullable BookingCursor after, int size) {
+        return bookingStorage.findAllBookingOrderByDateDesc(userBookingsCondition(state, userId), after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getOwnerBookings(@NonNull StateFilter state, long ownerId, int from, int size) {
+        return bookingStorage.findAllBookingOrderByDateDesc(ownerBookingsCondition(state, ownerId), from, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getOwnerBookings(
+            @NonNull StateFilter state, long ownerId, @Nullable BookingCursor after, int size) {
+        return bookingStorage.findAllBookingOrderByDateDesc(ownerBookingsCondition(state, ownerId), after, size);
+    }
+
+    private BooleanExpression userBookingsCondition(StateFilter state, long userId) {
         if (!userStorage.existsById(userId)) {
             // требование ТЗ
             throw new NotFoundException(String.format("Не найден пользователь с id=%d.", userId));
         }
         BooleanExpression byState = state.getExpression(LocalDateTime.now());
         BooleanExpression byBookerId = QBooking.booking.booker.id.eq(userId);
-        return bookingStorage.findAllBookingOrderByDateDesc(byBookerId.and(byState), from, size);
+        return byBookerId.and(byState);
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<Booking> getOwnerBookings(@NonNull StateFilter state, long ownerId, int from, int size) {
+    private BooleanExpression ownerBookingsCondition(StateFilter state, long ownerId) {
         BooleanExpression byOwnerId = QItem.item.owner.id.eq(ownerId);
         if (itemStorage.count(byOwnerId) == 0) {
             // требование ТЗ
@@ -122,6 +237,85 @@ public class BookingServiceImpl implements BookingService {
         }
         BooleanExpression byState = state.getExpression(LocalDateTime.now());
         byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
-        return bookingStorage.findAllBookingOrderByDateDesc(byOwnerId.and(byState), from, size);
+        return byOwnerId.and(byState);
+    }
+
+    private Booking approveBooking(long bookingId, long ownerId) {
+        // блокировка вещи сериализует подтверждение пересекающихся бронирований
+        itemStorage.findByBookingIdForUpdate(bookingId);
+        final Booking booking = findOwnerBooking(bookingId, ownerId);
+        if (booking.getStatus() != BookStatus.WAITING) {
+            throw new BadRequestException(String.format("Статус записи '%s' != '%s'",
+                    booking.getStatus().name(), BookStatus.WAITING.name()));
+        }
+        checkNoOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        if (bookingStorage.updateStatusIfWaiting(bookingId, ownerId, BookStatus.APPROVED) == 0) {
+            // подтверждение и отклонение того же бронирования ждут блокировку вещи и видят новый статус при чтении,
+            // проверка страхует от изменения статуса в обход блокировки
+            throw new BadRequestException(String.format("Бронирование с id=%d уже не ожидает подтверждения.", bookingId));
+        }
+        onItemBookingsChanged(booking.getItem().getId());
+        return booking.toBuilder()
+                .status(BookStatus.APPROVED)
+                .build();
+    }
+
+    private Booking findOwnerBooking(long bookingId, long ownerId) {
+        BooleanExpression byBookingId = QBooking.booking.id.eq(bookingId);
+        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(ownerId);
+        return bookingStorage.findAny(byBookingId.and(byOwnerId))
+                .orElseThrow(() -> new NotFoundException(
+                        String.format("Не найдено бронирование с id='%d' и ownerId='%d'.", bookingId, ownerId)));
+    }
+
+    private void checkNoOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingStorage.existsOverlap(itemId, start, end)) {
+            throw overlapException(itemId, start, end);
+        }
+    }
+
+    private static ConflictException overlapException(long itemId, LocalDateTime start, LocalDateTime end) {
+        return new ConflictException(String.format(
+                "Вещь с id=%d уже забронирована на период с %s по %s.", itemId, start, end));
+    }
+
+    private static void checkBookable(Item item, long bookerId) {
+        if (!item.getAvailable()) {
+            throw new BadRequestException(String.format("Вещь с id=%d недоступна для аренды.", item.getId()));
+        }
+        if (bookerId == item.getOwner().getId()) {
+            throw new NotFoundException("Действие недоступно для владельца бронируемой вещи");
+        }
+    }
+
+    // проверки createBookingRequest, кроме пересечений, для бронирования из пакета
+    private static void checkNewBooking(Booking booking, long bookerId, Map<Long, Item> items) {
+        String violation = NewBookingConstraintValidator.findViolation(booking);
+        if (violation != null) {
+            throw new BadRequestException(violation);
+        }
+        Long itemId = booking.getItem() != null ? booking.getItem().getId() : null;
+        if (itemId == null) {
+            throw new BadRequestException("Не указан id вещи.");
+        }
+        Item item = items.get(itemId);
+        if (item == null) {
+            throw new NotFoundException(String.format("Не найдена вещь с id=%d.", itemId));
+        }
+        checkBookable(item, bookerId);
+    }
+
+    // занятость вещи и её последнее/следующее бронирование в GET /items изменились
+    private void onItemBookingsChanged(long itemId) {
+        itemAvailabilityCache.evict(itemId);
+        itemStorage.incrementVersion(List.of(itemId));
+    }
+
+    private void onItemsBookingsChanged(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        itemAvailabilityCache.evict(itemIds);
+        itemStorage.incrementVersion(itemIds);
     }
 }
@@ -2,16 +2,72 @@ package ru.practicum.shareit.booking.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BookingStorageCustom {
     List<Booking> findAllBookingOrderByDateDesc(BooleanExpression expression, int from, int size);
 
+    /**
+     * Страница бронирований, следующих за курсором, в порядке (end desc, id desc).
+     *
+     * @param expression условие выборки
+     * @param after      курсор последнего полученного элемента, null - с начала списка
+     * @param size       размер страницы
+     * @return List<Booking>
+     */
+    List<Booking> findAllBookingOrderByDateDesc(BooleanExpression expression, BookingCursor after, int size);
+
     Optional<Booking> findAny(BooleanExpression expression);
 
     Optional<Booking> findTopOrderByTime(BooleanExpression predicate, OrderSpecifier<LocalDateTime> order);
+
+    /**
+     * Последнее (APPROVED, начато до onDate) и следующее (APPROVED или WAITING, начнётся после onDate)
+     * бронирования для каждой из вещей - одним запросом.
+     *
+     * @param itemIds id вещей
+     * @param onDate  момент времени, относительно которого ищутся бронирования
+     * @return не более двух бронирований на каждую вещь
+     */
+    List<Booking> findLastAndNextItemBookings(Collection<Long> itemIds, LocalDateTime onDate);
+
+    /**
+     * Атомарная смена статуса бронирования, ожидающего подтверждения, владельцем вещи.
+     *
+     * @param bookingId id бронирования
+     * @param ownerId   id владельца вещи
+     * @param status    новый статус
+     * @return количество изменённых записей: 0, если бронирование не найдено, вещь принадлежит другому
+     * пользователю или статус уже не WAITING
+     */
+    long updateStatusIfWaiting(long bookingId, long ownerId, BookStatus status);
+
+    /**
+     * Есть ли у вещи подтверждённое бронирование, пересекающееся с интервалом [start, end].
+     * Выполняется по индексу (item_id, start_date) без чтения самих записей.
+     *
+     * @param itemId id вещи
+     * @param start  начало интервала
+     * @param end    окончание интервала
+     * @return true, если найдено хотя бы одно пересечение
+     */
+    boolean existsOverlap(long itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Подтверждённые бронирования вещей, пересекающиеся с интервалом [start, end], - одним запросом
+     * для проверки пересечений пакета новых бронирований.
+     *
+     * @param itemIds id вещей
+     * @param start   начало интервала, охватывающего все проверяемые бронирования
+     * @param end     окончание интервала
+     * @return List<Booking>
+     */
+    List<Booking> findApprovedOverlapping(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
 }
@@ -2,8 +2,11 @@ package ru.practicum.shareit.booking.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.user.model.QUser;
@@ -11,12 +14,28 @@ import ru.practicum.shareit.user.model.QUser;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public class BookingStorageCustomImpl implements BookingStorageCustom {
 
+    private static final String LAST_AND_NEXT_ITEM_BOOKINGS_SQL =
+            "SELECT id, status, start_date, end_date, item_id, booker_id FROM ("
+                    + " SELECT b.*, ROW_NUMBER() OVER ("
+                    + "  PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn"
+                    + " FROM bookings b"
+                    + " WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date < :onDate"
+                    + ") last_booking WHERE rn = 1"
+                    + " UNION ALL "
+                    + "SELECT id, status, start_date, end_date, item_id, booker_id FROM ("
+                    + " SELECT b.*, ROW_NUMBER() OVER ("
+                    + "  PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn"
+                    + " FROM bookings b"
+                    + " WHERE b.item_id IN (:itemIds) AND b.status IN ('APPROVED', 'WAITING') AND b.start_date > :onDate"
+                    + ") next_booking WHERE rn = 1";
+
     @PersistenceContext
     private EntityManager em;
 
@@ -30,12 +49,33 @@ public class BookingStorageCustomImpl implements BookingStorageCustom {
                 .innerJoin(booking.booker, booker).fetchJoin()
                 .innerJoin(booking.item, item).fetchJoin()
                 .where(predicate)
-                .orderBy(booking.end.desc())
+                .orderBy(booking.end.desc(), booking.id.desc())
                 .limit(size)
                 .offset(from)
                 .fetch();
     }
 
+    @Override
+    public List<Booking> findAllBookingOrderByDateDesc(BooleanExpression predicate, BookingCursor after, int size) {
+        QBooking booking = QBooking.booking;
+        QUser booker = QUser.user;
+        QItem item = QItem.item;
+        BooleanExpression condition = predicate;
+        if (after != null) {
+            // seek вместо offset: (end, id) < (after.end, after.id)
+            condition = condition.and(booking.end.lt(after.getEnd())
+                    .or(booking.end.eq(after.getEnd()).and(booking.id.lt(after.getId()))));
+        }
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.selectFrom(booking)
+                .innerJoin(booking.booker, booker).fetchJoin()
+                .innerJoin(booking.item, item).fetchJoin()
+                .where(condition)
+                .orderBy(booking.end.desc(), booking.id.desc())
+                .limit(size)
+                .fetch();
+    }
+
     @Override
     public Optional<Booking> findAny(BooleanExpression predicate) {
         QBooking booking = QBooking.booking;
@@ -65,4 +105,59 @@ public class BookingStorageCustomImpl implements BookingStorageCustom {
                 .stream()
                 .findAny();
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Booking> findLastAndNextItemBookings(Collection<Long> itemIds, LocalDateTime onDate) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return em.createNativeQuery(LAST_AND_NEXT_ITEM_BOOKINGS_SQL, Booking.class)
+                .setParameter("itemIds", itemIds)
+                .setParameter("onDate", onDate)
+                .getResultList();
+    }
+
+    @Override
+    public long updateStatusIfWaiting(long bookingId, long ownerId, BookStatus status) {
+        QBooking booking = QBooking.booking;
+        QItem item = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.update(booking)
+                .set(booking.status, status)
+                .where(booking.id.eq(bookingId)
+                        .and(booking.status.eq(BookStatus.WAITING))
+                        .and(booking.item.id.in(JPAExpressions.select(item.id)
+                                .from(item)
+                                .where(item.owner.id.eq(ownerId)))))
+                .execute();
+    }
+
+    @Override
+    public boolean existsOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        QBooking booking = QBooking.booking;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.selectOne()
+                .from(booking)
+                .where(booking.item.id.eq(itemId)
+                        .and(booking.status.eq(BookStatus.APPROVED))
+                        .and(booking.start.lt(end))
+                        .and(booking.end.gt(start)))
+                .fetchFirst() != null;
+    }
+
+    @Override
+    public List<Booking> findApprovedOverlapping(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        QBooking booking = QBooking.booking;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.selectFrom(booking)
+                .where(booking.item.id.in(itemIds)
+                        .and(booking.status.eq(BookStatus.APPROVED))
+                        .and(booking.start.lt(end))
+                        .and(booking.end.gt(start)))
+                .fetch();
+    }
 }
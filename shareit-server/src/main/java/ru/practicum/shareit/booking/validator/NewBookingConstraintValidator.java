@@ -1,11 +1,11 @@
 package ru.practicum.shareit.booking.validator;
 
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.model.Booking;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 import java.time.LocalDateTime;
-import java.util.function.Consumer;
 
 public class NewBookingConstraintValidator implements ConstraintValidator<NewBooking, Booking> {
 
@@ -14,40 +14,48 @@ public class NewBookingConstraintValidator implements ConstraintValidator<NewBoo
         if (booking == null) {
             return true;
         }
+        String violation = findViolation(booking);
+        if (violation == null) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(violation)
+                .addConstraintViolation();
+        return false;
+    }
+
+    /**
+     * Проверка дат нового бронирования; используется и при пакетном создании, где ошибка одного
+     * бронирования не должна прерывать создание остальных.
+     *
+     * @param booking новое бронирование
+     * @return описание нарушения или null, если бронирование корректно
+     */
+    @Nullable
+    public static String findViolation(Booking booking) {
         LocalDateTime start = booking.getStart();
         LocalDateTime end = booking.getEnd();
-        Consumer<String> addMessage = s -> {
-            context.disableDefaultConstraintViolation();
-            context.buildConstraintViolationWithTemplate(s)
-                    .addConstraintViolation();
-        };
 
         if (start == null) {
-            addMessage.accept("Не установлена дата начала бронирования");
-            return false;
+            return "Не установлена дата начала бронирования";
         }
         if (end == null) {
-            addMessage.accept("Не установлена дата завершения бронирования");
-            return false;
+            return "Не установлена дата завершения бронирования";
         }
 
         LocalDateTime now = LocalDateTime.now();
         if (start.isBefore(now)) {
-            addMessage.accept("Дата начала бронирования раньше текущей даты");
-            return false;
+            return "Дата начала бронирования раньше текущей даты";
         }
         if (end.isBefore(now)) {
-            addMessage.accept("Дата завершения бронирования раньше текущей даты");
-            return false;
+            return "Дата завершения бронирования раньше текущей даты";
         }
         if (start.isAfter(end)) {
-           addMessage.accept("Дата начала бронирования позже даты завершения");
-           return false;
+            return "Дата начала бронирования позже даты завершения";
         }
         if (start.isEqual(end)) {
-            addMessage.accept("Дата начала бронирования равна дате завершения");
-            return false;
+            return "Дата начала бронирования равна дате завершения";
         }
-        return true;
+        return null;
     }
 }
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Потокобезопасное множество неотрицательных id в виде битовой карты. Карта разбита на страницы
+ * по 2^16 бит, страница создаётся при первой записи в неё. Id не меньше {@link #MAX_ID} не хранятся.
+ */
+public class ConcurrentLongBitmap {
+    private static final int PAGE_SHIFT = 16;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_SHIFT - WORD_SHIFT);
+    private static final int MAX_PAGES = 1 << 20;
+    private static final int INITIAL_PAGES = 16;
+
+    public static final long MAX_ID = (long) MAX_PAGES << PAGE_SHIFT;
+
+    private volatile AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(INITIAL_PAGES);
+
+    /**
+     * @return false, если id вне допустимого диапазона и не добавлен
+     */
+    public boolean add(long id) {
+        if (id < 0 || id >= MAX_ID) {
+            return false;
+        }
+        AtomicLongArray page = page((int) (id >>> PAGE_SHIFT));
+        int word = (int) (id >>> WORD_SHIFT) & (WORDS_PER_PAGE - 1);
+        long mask = 1L << id;
+        page.getAndUpdate(word, bits -> bits | mask);
+        return true;
+    }
+
+    public void remove(long id) {
+        AtomicLongArray page = findPage(id);
+        if (page != null) {
+            int word = (int) (id >>> WORD_SHIFT) & (WORDS_PER_PAGE - 1);
+            long mask = 1L << id;
+            page.getAndUpdate(word, bits -> bits & ~mask);
+        }
+    }
+
+    public boolean contains(long id) {
+        AtomicLongArray page = findPage(id);
+        if (page == null) {
+            return false;
+        }
+        int word = (int) (id >>> WORD_SHIFT) & (WORDS_PER_PAGE - 1);
+        return (page.get(word) & (1L << id)) != 0;
+    }
+
+    /**
+     * Очистка на месте: страницы не заменяются, поэтому одновременное добавление не теряется
+     * и выполняется либо до, либо после очистки.
+     */
+    public synchronized void clear() {
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        for (int i = 0; i < current.length(); i++) {
+            AtomicLongArray page = current.get(i);
+            if (page != null) {
+                for (int word = 0; word < WORDS_PER_PAGE; word++) {
+                    page.set(word, 0L);
+                }
+            }
+        }
+    }
+
+    private AtomicLongArray findPage(long id) {
+        if (id < 0 || id >= MAX_ID) {
+            return null;
+        }
+        int index = (int) (id >>> PAGE_SHIFT);
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        return index < current.length() ? current.get(index) : null;
+    }
+
+    private AtomicLongArray page(int index) {
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        AtomicLongArray page = index < current.length() ? current.get(index) : null;
+        return page != null ? page : createPage(index);
+    }
+
+    // страницы создаются и массив страниц расширяется только под блокировкой
+    private synchronized AtomicLongArray createPage(int index) {
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        if (index >= current.length()) {
+            int length = current.length();
+            while (length <= index) {
+                length = Math.min(length * 2, MAX_PAGES);
+            }
+            AtomicReferenceArray<AtomicLongArray> grown = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            pages = grown;
+            current = grown;
+        }
+        AtomicLongArray page = current.get(index);
+        if (page == null) {
+            page = new AtomicLongArray(WORDS_PER_PAGE);
+            current.set(index, page);
+        }
+        return page;
+    }
+}
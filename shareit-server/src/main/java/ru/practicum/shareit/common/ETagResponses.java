@@ -0,0 +1,40 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Условные GET-запросы: ETag вычисляется до чтения данных, и при совпадении с If-None-Match
+ * ответ 304 возвращается без загрузки сущностей и сериализации JSON.
+ * ETag страницы строится только по id и версиям записей этой страницы, поэтому 304 не дороже ответа 200.
+ */
+public final class ETagResponses {
+    // ответ зависит от пользователя, например, владелец вещи видит её бронирования
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private ETagResponses() {
+    }
+
+    public static boolean isNotModified(HttpServletRequest request, @Nullable String eTag) {
+        return eTag != null && new ServletWebRequest(request).checkNotModified(eTag);
+    }
+
+    public static ResponseEntity<Object> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .varyBy(USER_ID_HEADER)
+                .build();
+    }
+
+    public static ResponseEntity<Object> ok(@Nullable String eTag, Object body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(USER_ID_HEADER);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Id и версии записей одной страницы в порядке выдачи.
+ * В отличие от {@link VersionSummary} учитывает порядок id, поэтому меняется и при сдвиге страницы.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class PageVersions {
+    private final List<Long> ids;
+    private final List<Long> versions;
+
+    public String toTag() {
+        long hash = 17L;
+        for (int i = 0; i < ids.size(); i++) {
+            hash = 31L * hash + ids.get(i);
+            hash = 31L * hash + versions.get(i);
+        }
+        return String.format("%d-%s", ids.size(), Long.toHexString(hash));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.query.NativeQuery;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+
+/**
+ * Увеличение версий записей SQL-запросом. Массовый HQL UPDATE сбрасывает всю область второго уровня кэша
+ * сущности, а версия читается только проекциями, поэтому закэшированные сущности со старой версией
+ * остаются в кэше.
+ */
+public final class VersionIncrements {
+    // пространство запроса без таблиц сущностей: Hibernate не сбрасывает области кэша
+    private static final String QUERY_SPACE = "version_increments";
+
+    private VersionIncrements() {
+    }
+
+    public static long increment(EntityManager em, String table, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+        return em.createNativeQuery(String.format("UPDATE %s SET version = version + 1 WHERE id IN (:ids)", table))
+                .setParameter("ids", ids)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .executeUpdate();
+    }
+}
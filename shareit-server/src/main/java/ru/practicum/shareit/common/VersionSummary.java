@@ -0,0 +1,35 @@
+package ru.practicum.shareit.common;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.lang.Nullable;
+
+/**
+ * Сводка версий набора записей: меняется при добавлении, удалении и изменении любой из них.
+ * Версии только растут, поэтому изменение записи всегда меняет сумму.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class VersionSummary {
+    private final long count;
+    private final long versionSum;
+    private final long maxId;
+
+    /**
+     * Сводка из результатов агрегатных функций; для пустого набора SUM и MAX возвращают null.
+     */
+    public static VersionSummary of(@Nullable Long count, @Nullable Long versionSum, @Nullable Long maxId) {
+        return new VersionSummary(
+                count != null ? count : 0L,
+                versionSum != null ? versionSum : 0L,
+                maxId != null ? maxId : 0L);
+    }
+
+    public String toTag() {
+        return String.format("%d-%d-%d", count, versionSum, maxId);
+    }
+}
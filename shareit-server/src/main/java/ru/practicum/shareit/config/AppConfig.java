@@ -2,10 +2,12 @@ package ru.practicum.shareit.config;
 
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @ComponentScan("ru.practicum.shareit")
+@EnableScheduling
 @EnableTransactionManagement
 public class AppConfig {
 }
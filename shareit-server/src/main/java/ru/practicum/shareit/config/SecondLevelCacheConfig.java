@@ -0,0 +1,58 @@
+package ru.practicum.shareit.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Второй уровень кэша Hibernate (JCache, Ehcache в куче): пользователи, вещи, отзывы, запросы и их коллекции.
+ * Каждая область ограничена числом записей, записи старше time-to-live удаляются: изменения, сделанные
+ * другими экземплярами сервера, видны не позже чем через time-to-live.
+ * Попадания и промахи: hibernate.second.level.cache.requests{region, result}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String ITEM_COMMENTS = "items.comments";
+    public static final String COMMENTS = "comments";
+    public static final String REQUESTS = "requests";
+    public static final String REQUEST_ITEMS = "requests.items";
+
+    private static final List<String> REGIONS = List.of(USERS, ITEMS, ITEM_COMMENTS, COMMENTS, REQUESTS, REQUEST_ITEMS);
+
+    /**
+     * Свой менеджер кэшей на контекст: области не делятся между приложениями одной JVM.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${shareit.second-level-cache.max-entries:10000}") long maxEntries,
+            @Value("${shareit.second-level-cache.time-to-live:1m}") Duration timeToLive) {
+
+        EhcacheCachingProvider provider = new EhcacheCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        CacheConfiguration<Object, Object> region = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+                .build();
+        REGIONS.forEach(name -> cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(region)));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
@@ -7,10 +7,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.common.ETagResponses;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.library.api.exception.BadRequestException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.library.api.item.ItemController;
 import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
@@ -19,13 +22,17 @@ import ru.practicum.shareit.library.api.item.dto.ItemDto;
 import ru.practicum.shareit.library.api.item.dto.ItemSimpleDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
-public class ItemControllerImpl implements ItemController {
+public class ItemControllerImpl implements ItemController<ResponseEntity<Object>> {
     private final ItemService itemService;
     private final ItemMapper itemMapper;
+    private final HttpServletRequest request;
 
     @Override
     public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -38,9 +45,13 @@ public class ItemControllerImpl implements ItemController {
     @Override
     public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @PathVariable long itemId) {
+        String eTag = itemService.getItemETag(itemId, userId).orElse(null);
+        if (ETagResponses.isNotModified(request, eTag)) {
+            return ETagResponses.notModified(eTag);
+        }
         Item item = itemService.getItemById(itemId, userId)
                 .orElseThrow(() -> new NotFoundException("Не найдена вещь с id=" + itemId));
-        return ResponseEntity.ok(itemMapper.mapItemToItemDto(item));
+        return ETagResponses.ok(eTag, itemMapper.mapItemToItemDto(item));
     }
 
     @Override
@@ -61,9 +72,13 @@ public class ItemControllerImpl implements ItemController {
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "20") int size) {
 
+        String eTag = itemService.getOwnedItemsETag(userId, from, size).orElse(null);
+        if (ETagResponses.isNotModified(request, eTag)) {
+            return ETagResponses.notModified(eTag);
+        }
         List<ItemDto> items = itemMapper.mapItemToItemDto(
                 itemService.getOwnedItems(userId, from, size));
-        return ResponseEntity.ok(items);
+        return ETagResponses.ok(eTag, items);
     }
 
     @Override
@@ -87,4 +102,24 @@ public class ItemControllerImpl implements ItemController {
         Comment created = itemService.checkAuthorItemAndCreateComment(userId, itemId, comment);
         return ResponseEntity.ok(itemMapper.mapCommentToCommentDto(created));
     }
+
+    @Override
+    public ResponseEntity<Object> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @PathVariable long itemId,
+            @RequestParam String from,
+            @RequestParam String to) {
+
+        ItemAvailability availability = itemService.getItemAvailability(
+                itemId, userId, parseDateTime(from), parseDateTime(to));
+        return ResponseEntity.ok(itemMapper.mapItemAvailabilityToDto(availability));
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(String.format("Некорректная дата: %s", value));
+        }
+    }
 }
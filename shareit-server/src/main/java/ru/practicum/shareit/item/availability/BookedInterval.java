@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.booking.enums.BookStatus;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал, занятый бронированием. Хранит только поля, нужные для расчёта занятости,
+ * поэтому может кэшироваться вне сессии Hibernate.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BookedInterval {
+    private final long bookingId;
+    private final BookStatus status;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public static BookedInterval of(Booking booking) {
+        return new BookedInterval(booking.getId(), booking.getStatus(), booking.getStart(), booking.getEnd());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Неизменяемое дерево интервалов: массив, отсортированный по началу, рассматривается как
+ * сбалансированное дерево поиска (корень поддерева [lo, hi) - элемент в середине), для каждого
+ * узла хранится максимальное окончание в его поддереве.
+ * Поиск пересечений с окном - O(log n + k), где k - число найденных интервалов.
+ */
+public final class IntervalTree {
+    private static final Comparator<BookedInterval> BY_START = Comparator
+            .comparing(BookedInterval::getStart)
+            .thenComparingLong(BookedInterval::getBookingId);
+
+    private final BookedInterval[] intervals;
+    private final LocalDateTime[] maxEnd;
+
+    private IntervalTree(BookedInterval[] intervals) {
+        this.intervals = intervals;
+        this.maxEnd = new LocalDateTime[intervals.length];
+        build(0, intervals.length);
+    }
+
+    public static IntervalTree of(Collection<BookedInterval> intervals) {
+        BookedInterval[] sorted = intervals.toArray(new BookedInterval[0]);
+        Arrays.sort(sorted, BY_START);
+        return new IntervalTree(sorted);
+    }
+
+    public int size() {
+        return intervals.length;
+    }
+
+    /**
+     * Интервалы, пересекающиеся с [from, to), в порядке начала.
+     */
+    public List<BookedInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookedInterval> result = new ArrayList<>();
+        collect(0, intervals.length, from, to, result);
+        return result;
+    }
+
+    private LocalDateTime build(int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        LocalDateTime max = intervals[mid].getEnd();
+        LocalDateTime left = build(lo, mid);
+        LocalDateTime right = build(mid + 1, hi);
+        if (left != null && left.isAfter(max)) {
+            max = left;
+        }
+        if (right != null && right.isAfter(max)) {
+            max = right;
+        }
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, LocalDateTime from, LocalDateTime to, List<BookedInterval> result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (!maxEnd[mid].isAfter(from)) {
+            // всё поддерево заканчивается до начала окна
+            return;
+        }
+        collect(lo, mid, from, to, result);
+        BookedInterval interval = intervals[mid];
+        if (!interval.getStart().isBefore(to)) {
+            // этот узел и правое поддерево начинаются после окончания окна
+            return;
+        }
+        if (interval.getEnd().isAfter(from)) {
+            result.add(interval);
+        }
+        collect(mid + 1, hi, from, to, result);
+    }
+}
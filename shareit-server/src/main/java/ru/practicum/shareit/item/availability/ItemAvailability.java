@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Занятость вещи в окне [from, to).
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemAvailability {
+    private final long itemId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final List<BookedInterval> busy;
+    private final List<TimeInterval> free;
+
+    /**
+     * Свободные интервалы вычисляются за один проход по занятым.
+     *
+     * @param busy бронирования, пересекающиеся с окном, в порядке начала
+     */
+    public static ItemAvailability of(long itemId, LocalDateTime from, LocalDateTime to, List<BookedInterval> busy) {
+        List<TimeInterval> free = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        for (BookedInterval interval : busy) {
+            if (interval.getStart().isAfter(freeFrom)) {
+                free.add(new TimeInterval(freeFrom, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(freeFrom)) {
+                freeFrom = interval.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            free.add(new TimeInterval(freeFrom, to));
+        }
+        return new ItemAvailability(itemId, from, to, busy, free);
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.availability;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.enums.BookStatus;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Кэш деревьев интервалов по вещам (LRU). Дерево строится из подтверждённых и ожидающих
+ * подтверждения бронирований вещи и сбрасывается после коммита транзакции, изменившей бронирования.
+ * Деревья старше time-to-live перестраиваются: бронирования с других экземпляров сервера
+ * видны не позже чем через time-to-live.
+ */
+@Component
+public class ItemAvailabilityCache {
+    private final BookingStorage bookingStorage;
+    private final long timeToLiveNanos;
+    private final Map<Long, CachedTree> trees;
+    // счётчик сбросов: дерево, загруженное во время сброса, может быть устаревшим и не кэшируется
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ItemAvailabilityCache(BookingStorage bookingStorage,
+                                 @Value("${shareit.item.availability.cache-size:10000}") int maxSize,
+                                 @Value("${shareit.item.availability.time-to-live:1m}") Duration timeToLive) {
+        this.bookingStorage = bookingStorage;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.trees = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTree> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public IntervalTree get(long itemId) {
+        CachedTree cached = trees.get(itemId);
+        if (cached != null && System.nanoTime() - cached.loadedAt < timeToLiveNanos) {
+            return cached.tree;
+        }
+        final long evictionsBeforeLoad = evictions.get();
+        final long loadedAt = System.nanoTime();
+        IntervalTree tree = load(itemId);
+        if (evictions.get() == evictionsBeforeLoad) {
+            trees.put(itemId, new CachedTree(tree, loadedAt));
+        }
+        return tree;
+    }
+
+    /**
+     * Сброс дерева вещи. Внутри транзакции выполняется после коммита, чтобы параллельное чтение
+     * не закэшировало состояние до изменения.
+     */
+    public void evict(long itemId) {
+        evict(List.of(itemId));
+    }
+
+    /**
+     * То же, что {@link #evict(long)}, для нескольких вещей.
+     */
+    public void evict(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(itemIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(itemIds);
+            }
+        });
+    }
+
+    private void evictNow(Collection<Long> itemIds) {
+        evictions.incrementAndGet();
+        trees.keySet().removeAll(itemIds);
+    }
+
+    private IntervalTree load(long itemId) {
+        BooleanExpression byItemId = QBooking.booking.item.id.eq(itemId);
+        BooleanExpression byStatus = QBooking.booking.status.in(BookStatus.APPROVED, BookStatus.WAITING);
+        List<BookedInterval> intervals = StreamSupport
+                .stream(bookingStorage.findAll(byItemId.and(byStatus)).spliterator(), false)
+                .map(BookedInterval::of)
+                .collect(Collectors.toList());
+        return IntervalTree.of(intervals);
+    }
+
+    private static class CachedTree {
+        private final IntervalTree tree;
+        private final long loadedAt;
+
+        CachedTree(IntervalTree tree, long loadedAt) {
+            this.tree = tree;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
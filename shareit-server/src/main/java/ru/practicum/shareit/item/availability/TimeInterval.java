@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Полуоткрытый интервал времени [start, end).
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class TimeInterval {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
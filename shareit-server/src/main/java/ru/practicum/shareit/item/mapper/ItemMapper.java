@@ -3,10 +3,15 @@ package ru.practicum.shareit.item.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.availability.BookedInterval;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.TimeInterval;
+import ru.practicum.shareit.library.api.item.dto.AvailabilityIntervalDto;
 import ru.practicum.shareit.library.api.item.dto.BookingInfoDto;
 import ru.practicum.shareit.library.api.item.dto.CommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
+import ru.practicum.shareit.library.api.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.library.api.item.dto.ItemDto;
 import ru.practicum.shareit.library.api.item.dto.ItemSimpleDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
@@ -44,4 +49,18 @@ public interface ItemMapper {
     CommentDto mapCommentToCommentDto(Comment comment);
 
     Comment mapCreateCommentDtoToComment(CreateCommentDto dto);
+
+    @Mapping(target = "from", source = "from", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    @Mapping(target = "to", source = "to", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    ItemAvailabilityDto mapItemAvailabilityToDto(ItemAvailability availability);
+
+    @Mapping(target = "start", source = "start", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    @Mapping(target = "end", source = "end", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    AvailabilityIntervalDto mapBookedIntervalToDto(BookedInterval interval);
+
+    @Mapping(target = "start", source = "start", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    @Mapping(target = "end", source = "end", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
+    @Mapping(target = "bookingId", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    AvailabilityIntervalDto mapTimeIntervalToDto(TimeInterval interval);
 }
@@ -4,9 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Cascade;
 import org.hibernate.annotations.CascadeType;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -22,6 +25,7 @@ import javax.persistence.NamedAttributeNode;
 import javax.persistence.NamedEntityGraph;
 import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 import java.util.List;
@@ -44,10 +48,12 @@ import java.util.Objects;
 @Getter
 @Entity
 @Table(name = "items")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ITEMS)
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -67,6 +73,10 @@ public class Item {
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    // меняется только запросами ItemStorage.incrementVersion, поэтому не пишется при сохранении
+    @Column(name = "version", nullable = false, insertable = false, updatable = false)
+    private long version;
+
     @Transient
     private Booking lastBooking;
 
@@ -75,6 +85,7 @@ public class Item {
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "item")
     @Cascade(CascadeType.DELETE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ITEM_COMMENTS)
     private List<Comment> comments;
 
     @Override
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Версия вещи и её владелец: достаточно для ETag без чтения вещи, комментариев и бронирований.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ItemVersion {
+    private final long ownerId;
+    private final long version;
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.search;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поиск по индексу в памяти (см. ItemNgramIndex). Индекс строится после старта приложения,
+ * до его готовности запросы выполняются через JpaItemSearch. Индекс периодически перестраивается
+ * по БД: изменения и удаления вещей на других экземплярах сервера видны не позже чем через rebuild-interval.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item.search", havingValue = "memory")
+public class InMemoryItemSearch implements ItemSearch {
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final ItemStorage itemStorage;
+    private final ItemSearch fallback;
+    private volatile ItemNgramIndex index = new ItemNgramIndex();
+    // последние версии вещей, изменённых или удалённых во время построения индекса:
+    // загруженная из БД версия устарела, они применяются к новому индексу перед заменой
+    private final Map<Long, Item> changedDuringLoad = new HashMap<>();
+    // changedDuringLoad, loading и замена индекса меняются только под этой блокировкой
+    private final Object loadLock = new Object();
+    private boolean loading;
+    private volatile boolean ready;
+
+    public InMemoryItemSearch(ItemStorage itemStorage) {
+        this.itemStorage = itemStorage;
+        this.fallback = new JpaItemSearch(itemStorage);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload("построен");
+    }
+
+    /**
+     * Перестроение по БД: новый индекс заполняется целиком и заменяет текущий,
+     * который до замены продолжает обслуживать поиск.
+     */
+    @Scheduled(initialDelayString = "${shareit.item.memory-search.rebuild-interval:PT10M}",
+            fixedDelayString = "${shareit.item.memory-search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        reload("перестроен");
+    }
+
+    private synchronized void reload(String action) {
+        synchronized (loadLock) {
+            loading = true;
+        }
+        ItemNgramIndex loaded = new ItemNgramIndex();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            BooleanExpression byAvailableAfterId = QItem.item.available.isTrue().and(QItem.item.id.gt(lastId));
+            batch = itemStorage.findByConditionWithRequestOrder(
+                    byAvailableAfterId, QItem.item.id.asc(), 0, LOAD_BATCH_SIZE);
+            for (Item item : batch) {
+                loaded.put(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        synchronized (loadLock) {
+            changedDuringLoad.values().forEach(loaded::put);
+            changedDuringLoad.clear();
+            index = loaded;
+            loading = false;
+            ready = true;
+        }
+        log.info("Индекс поиска вещей {}, вещей: {}", action, loaded.size());
+    }
+
+    @Override
+    @NonNull
+    public List<Item> findAvailableBySubString(@NonNull String text, int from, int size) {
+        if (!ready) {
+            return fallback.findAvailableBySubString(text, from, size);
+        }
+        return index.find(text, from, size);
+    }
+
+    @Override
+    public void onItemSaved(@NonNull Item item) {
+        // копия без ленивых связей: применяется после коммита, когда сессия уже закрыта
+        applyAfterCommit(Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .request(item.getRequest() == null ? null : ItemRequest.builder().id(item.getRequest().getId()).build())
+                .build());
+    }
+
+    @Override
+    public void onItemsDeleted(@NonNull Collection<Long> itemIds) {
+        // недоступная вещь удаляется из индекса
+        itemIds.forEach(id -> applyAfterCommit(Item.builder()
+                .id(id)
+                .available(false)
+                .build()));
+    }
+
+    private void applyAfterCommit(Item snapshot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(snapshot);
+            }
+        });
+    }
+
+    private void apply(Item item) {
+        synchronized (loadLock) {
+            if (loading) {
+                changedDuringLoad.put(item.getId(), item);
+            }
+            index.put(item);
+        }
+    }
+}
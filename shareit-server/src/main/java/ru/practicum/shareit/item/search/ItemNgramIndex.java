@@ -0,0 +1,203 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам названия и описания доступных вещей.
+ * Кандидаты из пересечения списков проверяются на вхождение подстроки, поэтому результат совпадает
+ * с name/description ILIKE '%text%'. Запросы короче триграммы выполняются перебором.
+ */
+class ItemNgramIndex {
+    private static final int GRAM = 3;
+    private static final char SEPARATOR = '\u0000';
+
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Добавляет, обновляет или (если вещь недоступна) удаляет вещь из индекса.
+     */
+    void put(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                Document document = new Document(item);
+                documents.put(document.id, document);
+                for (long gram : grams(document.text)) {
+                    postings.computeIfAbsent(gram, key -> new LongPostingList()).add(document.id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Item> find(String text, int from, int size) {
+        final String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM) {
+                return scan(query, from, size);
+            }
+            long[] queryGrams = grams(query);
+            if (queryGrams.length == 0) {
+                return scan(query, from, size);
+            }
+            List<LongPostingList> lists = new ArrayList<>(queryGrams.length);
+            for (long gram : queryGrams) {
+                LongPostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(LongPostingList::size));
+            LongPostingList smallest = lists.get(0);
+
+            List<Item> result = new ArrayList<>(size);
+            int skipped = 0;
+            for (int i = 0; i < smallest.size() && result.size() < size; i++) {
+                long id = smallest.get(i);
+                if (!containsInAll(lists, id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (!document.text.contains(query)) {
+                    continue;
+                }
+                if (skipped++ < from) {
+                    continue;
+                }
+                result.add(document.toItem());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Item> scan(String query, int from, int size) {
+        List<Item> result = new ArrayList<>(size);
+        int skipped = 0;
+        for (Document document : documents.values()) {
+            if (result.size() >= size) {
+                break;
+            }
+            if (document.text.contains(query) && skipped++ >= from) {
+                result.add(document.toItem());
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsInAll(List<LongPostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeUnlocked(long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (long gram : grams(document.text)) {
+            LongPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(itemId);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        int count = 0;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            char c0 = text.charAt(i);
+            char c1 = text.charAt(i + 1);
+            char c2 = text.charAt(i + 2);
+            if (c0 == SEPARATOR || c1 == SEPARATOR || c2 == SEPARATOR) {
+                continue;
+            }
+            grams[count++] = ((long) c0 << 32) | ((long) c1 << 16) | c2;
+        }
+        long[] sorted = Arrays.copyOf(grams, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    private static final class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final Long requestId;
+        // name + SEPARATOR + description в нижнем регистре: подстрока запроса не может пересечь границу полей
+        private final String text;
+
+        private Document(Item item) {
+            this.id = item.getId();
+            this.name = item.getName();
+            this.description = item.getDescription();
+            this.requestId = item.getRequest() == null ? null : item.getRequest().getId();
+            this.text = (name + SEPARATOR + description).toLowerCase(Locale.ROOT);
+        }
+
+        private Item toItem() {
+            return Item.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .available(true)
+                    .request(requestId == null ? null : ItemRequest.builder().id(requestId).build())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.lang.NonNull;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearch {
+
+    /**
+     * Поиск доступных для аренды вещей, в названии или описании которых есть подстрока text (без учёта регистра).
+     *
+     * @param text непустая подстрока
+     * @param from смещение от начала списка
+     * @param size размер страницы
+     * @return List<Item>
+     */
+    @NonNull
+    List<Item> findAvailableBySubString(@NonNull String text, int from, int size);
+
+    /**
+     * Уведомление о создании или изменении вещи. Реализациям, читающим из БД, оно не требуется.
+     *
+     * @param item сохранённая вещь
+     */
+    default void onItemSaved(@NonNull Item item) {
+    }
+
+    /**
+     * Уведомление об удалении вещей. Реализациям, читающим из БД, оно не требуется.
+     *
+     * @param itemIds id удалённых вещей
+     */
+    default void onItemsDeleted(@NonNull Collection<Long> itemIds) {
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.storage.ItemStorage;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search", havingValue = "jpa", matchIfMissing = true)
+public class JpaItemSearch implements ItemSearch {
+    private final ItemStorage itemStorage;
+
+    @Override
+    @NonNull
+    public List<Item> findAvailableBySubString(@NonNull String text, int from, int size) {
+        BooleanExpression byTextInNameOrDescription = QItem.item.name.containsIgnoreCase(text)
+                .or(QItem.item.description.containsIgnoreCase(text));
+        BooleanExpression byAvailableTrue = QItem.item.available.isTrue();
+        return itemStorage.findByCondition(byAvailableTrue.and(byTextInNameOrDescription), from, size);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+
+/**
+ * Поиск по GIN-индексам pg_trgm (см. db/migration/postgresql). Только для PostgreSQL.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search", havingValue = "trigram")
+public class TrigramItemSearch implements ItemSearch {
+
+    // условие available должно совпадать с предикатом частичных индексов
+    private static final String SEARCH_SQL = "SELECT i.* FROM items i"
+            + " WHERE i.available = true"
+            + " AND (i.name ILIKE :pattern ESCAPE '\\' OR i.description ILIKE :pattern ESCAPE '\\')"
+            + " ORDER BY i.id";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public List<Item> findAvailableBySubString(@NonNull String text, int from, int size) {
+        return em.createNativeQuery(SEARCH_SQL, Item.class)
+                .setParameter("pattern", toContainsPattern(text))
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    static String toContainsPattern(String text) {
+        String escaped = text
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.lang.NonNull;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,15 +15,34 @@ public interface ItemService {
 
     Optional<Item> getItemById(long id, long requesterId);
 
+    /**
+     * ETag ответа GET /items/{id}: версия вещи, а для владельца ещё и число начавшихся бронирований,
+     * от которого зависят последнее и следующее бронирование.
+     *
+     * @return пустой, если пользователь или вещь не найдены
+     */
+    Optional<String> getItemETag(long id, long requesterId);
+
     @NonNull
     Item checkOwnerAndUpdateItem(@NonNull Item itemUpdates, long userId);
 
     @NonNull
     List<Item> getOwnedItems(long userId, int from, int size);
 
+    /**
+     * ETag ответа GET /items: id и версии вещей запрошенной страницы и число начавшихся бронирований этих вещей.
+     *
+     * @return пустой, если пользователь не найден
+     */
+    Optional<String> getOwnedItemsETag(long userId, int from, int size);
+
     @NonNull
     List<Item> getAvailableItemsBySubString(@NonNull String text, long requesterId, int from, int size);
 
     @NonNull
     Comment checkAuthorItemAndCreateComment(long userId, long itemId, @NonNull Comment comment);
+
+    @NonNull
+    ItemAvailability getItemAvailability(long itemId, long requesterId,
+                                         @NonNull LocalDateTime from, @NonNull LocalDateTime to);
 }
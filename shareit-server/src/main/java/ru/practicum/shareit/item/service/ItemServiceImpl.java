@@ -9,11 +9,15 @@ import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.common.PageVersions;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.storage.CommentStorage;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -24,7 +28,9 @@ import ru.practicum.shareit.user.storage.UserStorage;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +41,8 @@ public class ItemServiceImpl implements ItemService {
     private final BookingStorage bookingStorage;
     private final ItemRequestStorage itemRequestStorage;
     private final CommentStorage commentStorage;
+    private final ItemSearch itemSearch;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     @NonNull
@@ -46,9 +54,14 @@ public class ItemServiceImpl implements ItemService {
         if (requestId != null && !itemRequestStorage.existsById(requestId)) {
             throw new NotFoundException(String.format("Запрос с id=%d не существует", requestId));
         }
-        return itemStorage.save(item.toBuilder()
+        Item created = itemStorage.save(item.toBuilder()
                 .owner(owner)
                 .build());
+        itemSearch.onItemSaved(created);
+        if (requestId != null) {
+            itemRequestStorage.incrementVersion(List.of(requestId));
+        }
+        return created;
     }
 
     @Override
@@ -73,6 +86,23 @@ public class ItemServiceImpl implements ItemService {
                         .build());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getItemETag(long itemId, long requesterId) {
+        if (!userStorage.existsById(requesterId)) {
+            return Optional.empty();
+        }
+        return itemStorage.findVersion(itemId)
+                .map(version -> {
+                    if (version.getOwnerId() != requesterId) {
+                        return String.format("item-%d-%d", itemId, version.getVersion());
+                    }
+                    long startedBookings = bookingStorage.count(QBooking.booking.item.id.eq(itemId)
+                            .and(QBooking.booking.start.before(LocalDateTime.now())));
+                    return String.format("item-%d-%d-%d", itemId, version.getVersion(), startedBookings);
+                });
+    }
+
     @Override
     @NonNull
     @Transactional()
@@ -90,7 +120,13 @@ public class ItemServiceImpl implements ItemService {
                 .description(itemUpdates.getDescription() != null ? itemUpdates.getDescription() : foundItem.getDescription())
                 .available(itemUpdates.getAvailable() != null ? itemUpdates.getAvailable() : foundItem.getAvailable())
                 .build();
-        return itemStorage.save(updateItem);
+        Item updated = itemStorage.save(updateItem);
+        itemSearch.onItemSaved(updated);
+        itemStorage.incrementVersion(List.of(itemId));
+        if (foundItem.getRequest() != null) {
+            itemRequestStorage.incrementVersion(List.of(foundItem.getRequest().getId()));
+        }
+        return updated;
     }
 
     @Override
@@ -102,17 +138,45 @@ public class ItemServiceImpl implements ItemService {
         }
         final LocalDateTime now = LocalDateTime.now();
         BooleanExpression byOwnerId = QItem.item.owner.id.eq(userId);
-        return itemStorage.findByConditionWithCommentsOrder(byOwnerId, QItem.item.id.asc(), from, size)
+        List<Item> items = itemStorage.findByConditionWithCommentsOrder(byOwnerId, QItem.item.id.asc(), from, size);
+        Set<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Booking>> bookingsByItemId = bookingStorage.findLastAndNextItemBookings(itemIds, now)
                 .stream()
-                .map(item -> item.toBuilder()
-                        .lastBooking(findLastItemBooking(item.getId(), now)
-                                .orElse(null))
-                        .nextBooking(findNextItemBooking(item.getId(), now)
-                                .orElse(null))
-                        .build())
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        return items.stream()
+                .map(item -> {
+                    List<Booking> itemBookings = bookingsByItemId.getOrDefault(item.getId(), List.of());
+                    return item.toBuilder()
+                            .lastBooking(itemBookings.stream()
+                                    .filter(booking -> booking.getStart().isBefore(now))
+                                    .findAny()
+                                    .orElse(null))
+                            .nextBooking(itemBookings.stream()
+                                    .filter(booking -> booking.getStart().isAfter(now))
+                                    .findAny()
+                                    .orElse(null))
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getOwnedItemsETag(long userId, int from, int size) {
+        if (!userStorage.existsById(userId)) {
+            return Optional.empty();
+        }
+        PageVersions versions = itemStorage.findPageVersions(
+                QItem.item.owner.id.eq(userId), QItem.item.id.asc(), from, size);
+        long startedBookings = versions.getIds().isEmpty() ? 0L
+                : bookingStorage.count(QBooking.booking.item.id.in(versions.getIds())
+                .and(QBooking.booking.start.before(LocalDateTime.now())));
+        return Optional.of(String.format("items-%d-%s-%d", userId, versions.toTag(), startedBookings));
+    }
+
     @Override
     @NonNull
     @Transactional(readOnly = true)
@@ -123,11 +187,7 @@ public class ItemServiceImpl implements ItemService {
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-
-        BooleanExpression byTextInNameOrDescription = QItem.item.name.containsIgnoreCase(text)
-                .or(QItem.item.description.containsIgnoreCase(text));
-        BooleanExpression byAvailableTrue = QItem.item.available.isTrue();
-        return itemStorage.findByCondition(byAvailableTrue.and(byTextInNameOrDescription), from, size);
+        return itemSearch.findAvailableBySubString(text, from, size);
     }
 
     @Override
@@ -147,10 +207,29 @@ public class ItemServiceImpl implements ItemService {
         User author = booking.getBooker();
         Item item = booking.getItem();
 
-        return commentStorage.save(comment.toBuilder()
+        Comment created = commentStorage.save(comment.toBuilder()
                 .author(author)
                 .item(item)
                 .build());
+        itemStorage.incrementVersion(List.of(itemId));
+        return created;
+    }
+
+    @Override
+    @NonNull
+    @Transactional(readOnly = true)
+    public ItemAvailability getItemAvailability(long itemId, long requesterId,
+                                                @NonNull LocalDateTime from, @NonNull LocalDateTime to) {
+        if (!userStorage.existsById(requesterId)) {
+            throw new NotFoundException("Не найден пользователь с id=" + requesterId);
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException(String.format("Начало периода %s должно быть раньше окончания %s", from, to));
+        }
+        if (!itemStorage.existsById(itemId)) {
+            throw new NotFoundException("Не найдена вещь с id=" + itemId);
+        }
+        return ItemAvailability.of(itemId, from, to, itemAvailabilityCache.get(itemId).findOverlapping(from, to));
     }
 
 
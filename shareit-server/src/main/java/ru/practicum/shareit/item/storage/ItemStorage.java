@@ -14,4 +14,10 @@ public interface ItemStorage extends JpaRepository<Item, Long>, QuerydslPredicat
     @EntityGraph("item_with_owner_and_comments_include_author")
     Optional<Item> findOneById(long itemId);
 
+    /**
+     * Переопределён в {@link ItemStorageCustom}: чтение по id вместо запроса count.
+     */
+    @Override
+    boolean existsById(Long id);
+
 }
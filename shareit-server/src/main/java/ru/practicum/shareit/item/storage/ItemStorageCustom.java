@@ -2,13 +2,93 @@ package ru.practicum.shareit.item.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import ru.practicum.shareit.common.PageVersions;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemStorageCustom {
     List<Item> findByCondition(BooleanExpression condition, int from, int size);
 
     List<Item> findByConditionWithCommentsOrder(BooleanExpression condition, OrderSpecifier<Long> order, int from, int size);
 
+    List<Item> findByConditionWithRequestOrder(BooleanExpression condition, OrderSpecifier<Long> order, int from, int size);
+
+    /**
+     * Проверка существования вещи чтением по id: при попадании во второй уровень кэша без запроса к БД.
+     *
+     * @param itemId id вещи
+     * @return true, если вещь существует
+     */
+    boolean existsById(Long itemId);
+
+    /**
+     * Чтение вещи с блокировкой записи до конца транзакции (SELECT ... FOR UPDATE).
+     * Сериализует изменение бронирований одной вещи.
+     *
+     * @param itemId id вещи
+     * @return Optional<Item>
+     */
+    Optional<Item> findByIdForUpdate(long itemId);
+
+    /**
+     * То же, что {@link #findByIdForUpdate(long)}, для вещи из бронирования.
+     *
+     * @param bookingId id бронирования
+     * @return Optional<Item>, пустой, если бронирование не найдено
+     */
+    Optional<Item> findByBookingIdForUpdate(long bookingId);
+
+    /**
+     * То же, что {@link #findByIdForUpdate(long)}, для нескольких вещей одним запросом.
+     * Вещи блокируются в порядке id, поэтому пересекающиеся наборы не приводят к взаимной блокировке.
+     *
+     * @param itemIds id вещей
+     * @return найденные вещи в порядке id
+     */
+    List<Item> findAllByIdForUpdate(Collection<Long> itemIds);
+
+    /**
+     * Id вещей без чтения самих вещей.
+     *
+     * @param condition условие отбора вещей
+     * @return id вещей
+     */
+    List<Long> findIds(BooleanExpression condition);
+
+    /**
+     * Увеличение версии вещей, чьё представление в GET /items изменилось.
+     *
+     * @param condition условие отбора вещей
+     * @return количество изменённых записей
+     */
+    long incrementVersion(BooleanExpression condition);
+
+    /**
+     * Увеличение версии вещей по id без сброса области вещей во втором уровне кэша.
+     *
+     * @param itemIds id вещей
+     * @return количество изменённых записей
+     */
+    long incrementVersion(Collection<Long> itemIds);
+
+    /**
+     * Версия вещи и id владельца без чтения самой вещи.
+     *
+     * @param itemId id вещи
+     * @return Optional<ItemVersion>, пустой, если вещь не найдена
+     */
+    Optional<ItemVersion> findVersion(long itemId);
+
+    /**
+     * Id и версии вещей страницы без чтения самих вещей: тот же отбор и порядок, что у страницы GET /items.
+     *
+     * @param condition условие отбора вещей
+     * @param order     порядок вещей на странице
+     * @return PageVersions
+     */
+    PageVersions findPageVersions(BooleanExpression condition, OrderSpecifier<Long> order, int from, int size);
 }
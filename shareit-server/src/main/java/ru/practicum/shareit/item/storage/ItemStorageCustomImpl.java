@@ -1,15 +1,25 @@
 package ru.practicum.shareit.item.storage;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.common.VersionIncrements;
+import ru.practicum.shareit.common.PageVersions;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.item.model.QComment;
 import ru.practicum.shareit.item.model.QItem;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class ItemStorageCustomImpl implements ItemStorageCustom {
 
@@ -34,13 +44,129 @@ public class ItemStorageCustomImpl implements ItemStorageCustom {
         QItem qItem = QItem.item;
         QComment qComment = QComment.comment;
         JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        // limit/offset вместе с fetch join коллекции выполняются в памяти (HHH000104),
+        // поэтому сначала выбирается страница id, затем вещи страницы вместе с отзывами
+        List<Long> pageIds = queryFactory.select(qItem.id)
+                .from(qItem)
+                .where(condition)
+                .orderBy(order)
+                .limit(size)
+                .offset(from)
+                .fetch();
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
         return queryFactory.selectFrom(qItem)
+                .distinct()
                 .leftJoin(qItem.comments, qComment).fetchJoin()
                 .leftJoin(qComment.author).fetchJoin()
+                .where(qItem.id.in(pageIds))
+                .orderBy(order)
+                .fetch();
+    }
+
+    @Override
+    public List<Item> findByConditionWithRequestOrder(
+            BooleanExpression condition, OrderSpecifier<Long> order, int from, int size) {
+
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.selectFrom(qItem)
+                .leftJoin(qItem.request).fetchJoin()
+                .where(condition)
+                .orderBy(order)
+                .limit(size)
+                .offset(from)
+                .fetch();
+    }
+
+    @Override
+    public Optional<Item> findByIdForUpdate(long itemId) {
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return Optional.ofNullable(queryFactory.selectFrom(qItem)
+                .where(qItem.id.eq(itemId))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetchOne());
+    }
+
+    @Override
+    public List<Item> findAllByIdForUpdate(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.selectFrom(qItem)
+                .where(qItem.id.in(itemIds))
+                .orderBy(qItem.id.asc())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetch();
+    }
+
+    @Override
+    public boolean existsById(Long itemId) {
+        return em.find(Item.class, itemId) != null;
+    }
+
+    @Override
+    public Optional<Item> findByBookingIdForUpdate(long bookingId) {
+        QItem qItem = QItem.item;
+        QBooking qBooking = QBooking.booking;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return Optional.ofNullable(queryFactory.selectFrom(qItem)
+                .where(qItem.id.eq(JPAExpressions.select(qBooking.item.id)
+                        .from(qBooking)
+                        .where(qBooking.id.eq(bookingId))))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetchOne());
+    }
+
+    @Override
+    public List<Long> findIds(BooleanExpression condition) {
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return queryFactory.select(qItem.id)
+                .from(qItem)
+                .where(condition)
+                .fetch();
+    }
+
+    @Override
+    public long incrementVersion(BooleanExpression condition) {
+        return incrementVersion(findIds(condition));
+    }
+
+    @Override
+    public long incrementVersion(Collection<Long> itemIds) {
+        return VersionIncrements.increment(em, "items", itemIds);
+    }
+
+    @Override
+    public Optional<ItemVersion> findVersion(long itemId) {
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        Tuple found = queryFactory.select(qItem.owner.id, qItem.version)
+                .from(qItem)
+                .where(qItem.id.eq(itemId))
+                .fetchOne();
+        return Optional.ofNullable(found)
+                .map(tuple -> new ItemVersion(tuple.get(qItem.owner.id), tuple.get(qItem.version)));
+    }
+
+    @Override
+    public PageVersions findPageVersions(BooleanExpression condition, OrderSpecifier<Long> order, int from, int size) {
+        QItem qItem = QItem.item;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        List<Tuple> page = queryFactory.select(qItem.id, qItem.version)
+                .from(qItem)
                 .where(condition)
                 .orderBy(order)
                 .limit(size)
                 .offset(from)
                 .fetch();
+        return new PageVersions(
+                page.stream().map(tuple -> tuple.get(qItem.id)).collect(Collectors.toList()),
+                page.stream().map(tuple -> tuple.get(qItem.version)).collect(Collectors.toList()));
     }
 }
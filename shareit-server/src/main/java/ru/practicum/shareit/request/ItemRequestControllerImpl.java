@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.common.ETagResponses;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.library.api.request.ItemRequestController;
 import ru.practicum.shareit.library.api.request.dto.CreateItemRequestDto;
@@ -15,16 +16,18 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 
 
 @RestController
 @RequiredArgsConstructor
 @Validated
-public class ItemRequestControllerImpl implements ItemRequestController {
+public class ItemRequestControllerImpl implements ItemRequestController<ResponseEntity<Object>> {
 
     private final ItemRequestService itemRequestService;
     private final ItemRequestMapper itemRequestMapper;
+    private final HttpServletRequest request;
 
 
     @Override
@@ -39,8 +42,12 @@ public class ItemRequestControllerImpl implements ItemRequestController {
     @Override
     public ResponseEntity<Object> getOwnedItemRequests(@RequestHeader("X-Sharer-User-Id") long ownerId) {
 
+        String eTag = itemRequestService.getOwnedItemRequestsETag(ownerId).orElse(null);
+        if (ETagResponses.isNotModified(request, eTag)) {
+            return ETagResponses.notModified(eTag);
+        }
         List<ItemRequest> requests = itemRequestService.getOwnedItemRequests(ownerId);
-        return ResponseEntity.ok(itemRequestMapper.mapItemRequestToItemRequestDto(requests));
+        return ETagResponses.ok(eTag, itemRequestMapper.mapItemRequestToItemRequestDto(requests));
     }
 
     @Override
@@ -49,17 +56,25 @@ public class ItemRequestControllerImpl implements ItemRequestController {
             @RequestParam(required = false, defaultValue = "0") int from,
             @RequestParam(required = false, defaultValue = "20") int size) {
 
+        String eTag = itemRequestService.getItemRequestsETag(userId, from, size).orElse(null);
+        if (ETagResponses.isNotModified(request, eTag)) {
+            return ETagResponses.notModified(eTag);
+        }
         List<ItemRequest> requests =  itemRequestService.getItemRequests(userId, from, size);
-        return ResponseEntity.ok(itemRequestMapper.mapItemRequestToItemRequestDto(requests));
+        return ETagResponses.ok(eTag, itemRequestMapper.mapItemRequestToItemRequestDto(requests));
     }
 
     @Override
     public ResponseEntity<Object> getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long requestId) {
 
-        ItemRequest request = itemRequestService.getItemRequestById(requestId, userId)
+        String eTag = itemRequestService.getItemRequestETag(requestId, userId).orElse(null);
+        if (ETagResponses.isNotModified(request, eTag)) {
+            return ETagResponses.notModified(eTag);
+        }
+        ItemRequest itemRequest = itemRequestService.getItemRequestById(requestId, userId)
                 .orElseThrow(() -> new NotFoundException(String.format("Не найден запрос с id=%d", requestId)));
-        return ResponseEntity.ok(itemRequestMapper.mapItemRequestToItemRequestDto(request));
+        return ETagResponses.ok(eTag, itemRequestMapper.mapItemRequestToItemRequestDto(itemRequest));
     }
 
 }
@@ -17,4 +17,15 @@ public interface ItemRequestService {
 
     Optional<ItemRequest> getItemRequestById(long requestId, long userId);
 
+    /**
+     * ETag ответов GET /requests, /requests/all и /requests/{id} по версиям запросов;
+     * для /requests/all только по запросам запрошенной страницы.
+     * Пустой, если пользователь или запрос не найдены.
+     */
+    Optional<String> getOwnedItemRequestsETag(long ownerId);
+
+    Optional<String> getItemRequestsETag(long userId, int from, int size);
+
+    Optional<String> getItemRequestETag(long requestId, long userId);
+
 }
@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.PageVersions;
+import ru.practicum.shareit.common.VersionSummary;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.QItemRequest;
@@ -63,4 +65,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         BooleanExpression byId = QItemRequest.itemRequest.id.eq(requestId);
         return itemRequestStorage.findAnyFetch(byId);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getOwnedItemRequestsETag(long ownerId) {
+        if (!userStorage.existsById(ownerId)) {
+            return Optional.empty();
+        }
+        VersionSummary versions = itemRequestStorage.summarizeVersions(QItemRequest.itemRequest.user.id.eq(ownerId));
+        return Optional.of(String.format("own-requests-%d-%s", ownerId, versions.toTag()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getItemRequestsETag(long userId, int from, int size) {
+        if (!userStorage.existsById(userId)) {
+            return Optional.empty();
+        }
+        BooleanExpression byNotRequestAuthor = QItemRequest.itemRequest.user.id.eq(userId).not();
+        PageVersions versions = itemRequestStorage.findPageVersions(
+                byNotRequestAuthor, QItemRequest.itemRequest.created.desc(), from, size);
+        return Optional.of(String.format("requests-%d-%s", userId, versions.toTag()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> getItemRequestETag(long requestId, long userId) {
+        if (!userStorage.existsById(userId)) {
+            return Optional.empty();
+        }
+        return itemRequestStorage.findVersion(requestId)
+                .map(version -> String.format("request-%d-%d", requestId, version));
+    }
 }
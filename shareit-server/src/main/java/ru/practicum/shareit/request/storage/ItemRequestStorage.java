@@ -8,4 +8,10 @@ import ru.practicum.shareit.request.model.ItemRequest;
 @Repository
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long>, QuerydslPredicateExecutor<ItemRequest>,
         ItemRequestStorageCustom {
+
+    /**
+     * Переопределён в {@link ItemRequestStorageCustom}: чтение по id вместо запроса count.
+     */
+    @Override
+    boolean existsById(Long id);
 }
@@ -2,9 +2,12 @@ package ru.practicum.shareit.request.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import ru.practicum.shareit.common.PageVersions;
+import ru.practicum.shareit.common.VersionSummary;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +19,41 @@ public interface ItemRequestStorageCustom {
 
     Optional<ItemRequest> findAnyFetch(BooleanExpression condition);
 
+    /**
+     * Проверка существования запроса чтением по id: при попадании во второй уровень кэша без запроса к БД.
+     *
+     * @param requestId id запроса
+     * @return true, если запрос существует
+     */
+    boolean existsById(Long requestId);
+
+    /**
+     * Увеличение версии запросов, чьё представление в GET /requests изменилось.
+     *
+     * @param condition условие отбора запросов
+     * @return количество изменённых записей
+     */
+    long incrementVersion(BooleanExpression condition);
+
+    /**
+     * Увеличение версии запросов по id без сброса области запросов во втором уровне кэша.
+     *
+     * @param requestIds id запросов
+     * @return количество изменённых записей
+     */
+    long incrementVersion(Collection<Long> requestIds);
+
+    Optional<Long> findVersion(long requestId);
+
+    VersionSummary summarizeVersions(BooleanExpression condition);
+
+    /**
+     * Id и версии запросов страницы без чтения самих запросов и вещей:
+     * тот же отбор и порядок, что у {@link #findAllFetchItemsPagination}.
+     *
+     * @param condition условие отбора запросов
+     * @param order     порядок запросов на странице
+     * @return PageVersions
+     */
+    PageVersions findPageVersions(BooleanExpression condition, OrderSpecifier<LocalDateTime> order, int from, int size);
 }
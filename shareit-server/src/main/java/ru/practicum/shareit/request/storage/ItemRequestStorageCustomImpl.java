@@ -1,18 +1,25 @@
 package ru.practicum.shareit.request.storage;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import ru.practicum.shareit.common.PageVersions;
+import ru.practicum.shareit.common.VersionIncrements;
+import ru.practicum.shareit.common.VersionSummary;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.QItemRequest;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class ItemRequestStorageCustomImpl implements ItemRequestStorageCustom {
 
@@ -40,11 +47,24 @@ public class ItemRequestStorageCustomImpl implements ItemRequestStorageCustom {
     public List<ItemRequest> findAllFetchItemsPagination(BooleanExpression condition,
                                                          OrderSpecifier<LocalDateTime> order, int from, int size) {
 
-        return findByFetch(QItemRequest.itemRequest, condition)
+        // limit/offset вместе с fetch join коллекции выполняются в памяти (HHH000104),
+        // поэтому сначала выбирается страница id, затем запросы страницы вместе с вещами
+        QItemRequest itemRequest = QItemRequest.itemRequest;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        List<Long> pageIds = queryFactory.select(itemRequest.id)
+                .from(itemRequest)
+                .where(condition)
                 .orderBy(order)
                 .limit(size)
                 .offset(from)
                 .fetch();
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+        return findByFetch(itemRequest, itemRequest.id.in(pageIds))
+                .distinct()
+                .orderBy(order)
+                .fetch();
     }
 
     @Override
@@ -55,4 +75,65 @@ public class ItemRequestStorageCustomImpl implements ItemRequestStorageCustom {
                 .stream()
                 .findAny();
     }
+
+    @Override
+    public boolean existsById(Long requestId) {
+        return em.find(ItemRequest.class, requestId) != null;
+    }
+
+    @Override
+    public long incrementVersion(BooleanExpression condition) {
+        QItemRequest itemRequest = QItemRequest.itemRequest;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return incrementVersion(queryFactory.select(itemRequest.id)
+                .from(itemRequest)
+                .where(condition)
+                .fetch());
+    }
+
+    @Override
+    public long incrementVersion(Collection<Long> requestIds) {
+        return VersionIncrements.increment(em, "requests", requestIds);
+    }
+
+    @Override
+    public Optional<Long> findVersion(long requestId) {
+        QItemRequest itemRequest = QItemRequest.itemRequest;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        return Optional.ofNullable(queryFactory.select(itemRequest.version)
+                .from(itemRequest)
+                .where(itemRequest.id.eq(requestId))
+                .fetchOne());
+    }
+
+    @Override
+    public VersionSummary summarizeVersions(BooleanExpression condition) {
+        QItemRequest itemRequest = QItemRequest.itemRequest;
+        NumberExpression<Long> count = itemRequest.count();
+        NumberExpression<Long> versionSum = itemRequest.version.sum();
+        NumberExpression<Long> maxId = itemRequest.id.max();
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        Tuple summary = queryFactory.select(count, versionSum, maxId)
+                .from(itemRequest)
+                .where(condition)
+                .fetchOne();
+        return VersionSummary.of(summary.get(count), summary.get(versionSum), summary.get(maxId));
+    }
+
+    @Override
+    public PageVersions findPageVersions(BooleanExpression condition,
+                                         OrderSpecifier<LocalDateTime> order, int from, int size) {
+        QItemRequest itemRequest = QItemRequest.itemRequest;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        List<Tuple> page = queryFactory.select(itemRequest.id, itemRequest.version)
+                .from(itemRequest)
+                .where(condition)
+                .orderBy(order)
+                .limit(size)
+                .offset(from)
+                .fetch();
+        return new PageVersions(
+                page.stream().map(tuple -> tuple.get(itemRequest.id)).collect(Collectors.toList()),
+                page.stream().map(tuple -> tuple.get(itemRequest.version)).collect(Collectors.toList()));
+    }
 }
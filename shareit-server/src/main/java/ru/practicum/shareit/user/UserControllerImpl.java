@@ -18,7 +18,7 @@ import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
-public class UserControllerImpl implements UserController {
+public class UserControllerImpl implements UserController<ResponseEntity<Object>> {
     private final UserService userService;
     private final UserMapper userMapper;
 
@@ -1,15 +1,31 @@
 package ru.practicum.shareit.user.service;
 
+import com.querydsl.jpa.JPAExpressions;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
+import ru.practicum.shareit.item.model.QComment;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.request.model.QItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserIdFilter;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +33,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final ItemRequestStorage itemRequestStorage;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserIdFilter userIdFilter;
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final ItemSearch itemSearch;
 
     @Override
     @NonNull
     public User createUser(@NonNull User user) {
         try {
-            return userStorage.save(user);
+            User created = userStorage.save(user);
+            userIdFilter.onCreated(created.getId());
+            return created;
         } catch (DataIntegrityViolationException ex) {
             throw new ConflictException(String.format("Пользователь с email=%s уже существует", user.getEmail()));
         }
@@ -44,7 +68,28 @@ public class UserServiceImpl implements UserService {
     public Optional<User> deleteUser(long id) {
         return userStorage.findById(id)
                 .map(u -> {
+                    // вместе с пользователем удаляются его отзывы, бронирования и вещи
+                    itemStorage.incrementVersion(QItem.item.id.in(JPAExpressions.select(QComment.comment.item.id)
+                                    .from(QComment.comment)
+                                    .where(QComment.comment.author.id.eq(id)))
+                            .or(QItem.item.id.in(JPAExpressions.select(QBooking.booking.item.id)
+                                    .from(QBooking.booking)
+                                    .where(QBooking.booking.booker.id.eq(id)))));
+                    itemRequestStorage.incrementVersion(QItemRequest.itemRequest.id.in(
+                            JPAExpressions.select(QItem.item.request.id)
+                                    .from(QItem.item)
+                                    .where(QItem.item.owner.id.eq(id))));
+                    // вещи пользователя удаляются, у забронированных им вещей меняется занятость
+                    List<Long> ownedItemIds = itemStorage.findIds(QItem.item.owner.id.eq(id));
+                    itemAvailabilityCache.evict(ownedItemIds);
+                    itemAvailabilityCache.evict(itemStorage.findIds(QItem.item.id.in(
+                            JPAExpressions.select(QBooking.booking.item.id)
+                                    .from(QBooking.booking)
+                                    .where(QBooking.booking.booker.id.eq(id)))));
+                    itemSearch.onItemsDeleted(ownedItemIds);
                     userStorage.deleteById(id);
+                    userIdFilter.onDeleted(id);
+                    evictCascadeDeletedAfterCommit();
                     return u;
                 });
     }
@@ -55,15 +100,48 @@ public class UserServiceImpl implements UserService {
     public User updateUser(@NonNull User user) {
         try {
             final Long userId = user.getId();
-            return userStorage.findById(userId)
+            User updated = userStorage.findById(userId)
                     .map(foundedUser -> foundedUser.toBuilder()
                             .name(user.getName() != null ? user.getName() : foundedUser.getName())
                             .email(user.getEmail() != null ? user.getEmail() : foundedUser.getEmail())
                             .build())
                     .map(userStorage::save)
                     .orElseThrow(() -> new NotFoundException("Не найден пользователь с id=" + userId));
+            if (user.getName() != null) {
+                // имя автора показывается в отзывах вещи
+                itemStorage.incrementVersion(QItem.item.id.in(JPAExpressions.select(QComment.comment.item.id)
+                        .from(QComment.comment)
+                        .where(QComment.comment.author.id.eq(userId))));
+            }
+            return updated;
         } catch (DataIntegrityViolationException ex) {
             throw new ConflictException(String.format("Пользователь с email=%s уже существует", user.getEmail()));
         }
     }
+
+    /**
+     * Вещи, отзывы и запросы пользователя удаляются каскадом в БД в обход Hibernate, поэтому их области
+     * второго уровня кэша сбрасываются целиком после коммита. Сам пользователь удаляется из кэша Hibernate.
+     */
+    private void evictCascadeDeletedAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictCascadeDeleted();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictCascadeDeleted();
+            }
+        });
+    }
+
+    private void evictCascadeDeleted() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictRegion(SecondLevelCacheConfig.ITEMS);
+        cache.evictRegion(SecondLevelCacheConfig.ITEM_COMMENTS);
+        cache.evictRegion(SecondLevelCacheConfig.COMMENTS);
+        cache.evictRegion(SecondLevelCacheConfig.REQUESTS);
+        cache.evictRegion(SecondLevelCacheConfig.REQUEST_ITEMS);
+    }
 }
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.user.storage;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.common.ConcurrentLongBitmap;
+import ru.practicum.shareit.user.model.QUser;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Id существующих пользователей в памяти: положительная проверка существования выполняется без запроса к БД,
+ * при промахе проверка идёт в БД (пользователь мог быть создан на другом экземпляре сервера).
+ * Фильтр периодически перестраивается по БД, поэтому пользователь, удалённый на другом экземпляре,
+ * считается существующим не дольше интервала перестроения.
+ */
+@Slf4j
+@Component
+public class UserIdFilter {
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final boolean enabled;
+    private volatile ConcurrentLongBitmap ids = new ConcurrentLongBitmap();
+    // счётчик удалений: пользователь, найденный в БД во время удаления, не добавляется
+    private final AtomicLong removals = new AtomicLong();
+    // пользователи, удалённые во время загрузки: прочитанные из БД id устарели
+    private final Set<Long> removedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public UserIdFilter(@Value("${shareit.user.id-filter.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            reload("загружен");
+        }
+    }
+
+    /**
+     * Перестроение по БД: новая карта заполняется целиком и заменяет текущую, id, удалённые
+     * на других экземплярах сервера, в неё не попадают.
+     */
+    @Scheduled(initialDelayString = "${shareit.user.id-filter.resync-interval:PT1M}",
+            fixedDelayString = "${shareit.user.id-filter.resync-interval:PT1M}")
+    public void resync() {
+        if (enabled) {
+            reload("перестроен");
+        }
+    }
+
+    private synchronized void reload(String action) {
+        loading = true;
+        ConcurrentLongBitmap loaded = new ConcurrentLongBitmap();
+        QUser qUser = QUser.user;
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        long lastId = 0;
+        long count = 0;
+        List<Long> batch;
+        do {
+            batch = queryFactory.select(qUser.id)
+                    .from(qUser)
+                    .where(qUser.id.gt(lastId))
+                    .orderBy(qUser.id.asc())
+                    .limit(LOAD_BATCH_SIZE)
+                    .fetch();
+            for (Long id : batch) {
+                if (!removedDuringLoad.contains(id) && loaded.add(id)) {
+                    count++;
+                }
+                lastId = id;
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        // id, добавленные в прежнюю карту во время загрузки, теряются: это только промах и запрос к БД
+        ids = loaded;
+        // удаления между чтением id и заменой карты
+        removedDuringLoad.forEach(loaded::remove);
+        loading = false;
+        removedDuringLoad.clear();
+        log.info("Фильтр id пользователей {}, пользователей: {}", action, count);
+    }
+
+    public boolean contains(long id) {
+        return enabled && ids.contains(id);
+    }
+
+    /**
+     * Отметка для {@link #addIfNotRemovedSince}: снимается до чтения пользователя из БД.
+     */
+    public long removalStamp() {
+        return removals.get();
+    }
+
+    /**
+     * Добавляет пользователя, найденного в БД, если с момента чтения никто не удалялся.
+     */
+    public void addIfNotRemovedSince(long id, long stamp) {
+        if (!enabled || removals.get() != stamp) {
+            return;
+        }
+        ids.add(id);
+        // удаление между проверкой и добавлением: добавленный id мог устареть
+        if (removals.get() != stamp) {
+            ids.remove(id);
+        }
+    }
+
+    /**
+     * Добавляет созданного пользователя после коммита транзакции.
+     */
+    public void onCreated(long id) {
+        if (enabled) {
+            afterCommit(() -> ids.add(id));
+        }
+    }
+
+    /**
+     * Удаляет пользователя сразу и повторно после коммита: до коммита проверка уйдёт в БД,
+     * а повторное удаление снимает id, добавленный параллельной проверкой.
+     */
+    public void onDeleted(long id) {
+        if (!enabled) {
+            return;
+        }
+        remove(id);
+        afterCommit(() -> remove(id));
+    }
+
+    public void clear() {
+        ids.clear();
+    }
+
+    private void remove(long id) {
+        removals.incrementAndGet();
+        if (loading) {
+            removedDuringLoad.add(id);
+        }
+        ids.remove(id);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
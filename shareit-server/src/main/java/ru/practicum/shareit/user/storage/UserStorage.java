@@ -5,6 +5,11 @@ import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
 @Repository
-public interface UserStorage extends JpaRepository<User, Long> {
+public interface UserStorage extends JpaRepository<User, Long>, UserStorageCustom {
 
+    /**
+     * Переопределён в {@link UserStorageCustom}: чтение по id вместо запроса count.
+     */
+    @Override
+    boolean existsById(Long id);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.storage;
+
+public interface UserStorageCustom {
+    /**
+     * Проверка существования пользователя: сначала по {@link UserIdFilter}, при промахе чтением по id
+     * (при попадании во второй уровень кэша без запроса к БД).
+     *
+     * @param id id пользователя
+     * @return true, если пользователь существует
+     */
+    boolean existsById(Long id);
+}
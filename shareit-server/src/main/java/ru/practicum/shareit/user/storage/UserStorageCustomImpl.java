@@ -0,0 +1,28 @@
+package ru.practicum.shareit.user.storage;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+@RequiredArgsConstructor
+public class UserStorageCustomImpl implements UserStorageCustom {
+    private final UserIdFilter userIdFilter;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public boolean existsById(Long id) {
+        if (userIdFilter.contains(id)) {
+            return true;
+        }
+        final long stamp = userIdFilter.removalStamp();
+        if (em.find(User.class, id) == null) {
+            return false;
+        }
+        userIdFilter.addIfNotRemovedSince(id, stamp);
+        return true;
+    }
+}
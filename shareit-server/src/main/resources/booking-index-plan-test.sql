@@ -0,0 +1,22 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+SELECT X, 'user' || X, 'user' || X || '@mail.ru', 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO items (id, name, description, available, owner_id)
+SELECT X, 'item' || X, 'item' || X, true, MOD(X, 100) + 1 FROM SYSTEM_RANGE(1, 1000);
+
+INSERT INTO bookings (id, status, start_date, end_date, item_id, booker_id)
+SELECT X,
+       CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'REJECTED' ELSE 'APPROVED' END,
+       DATEADD('HOUR', X, TIMESTAMP '2022-01-01 00:00:00'),
+       DATEADD('HOUR', X + 2, TIMESTAMP '2022-01-01 00:00:00'),
+       MOD(X, 1000) + 1,
+       MOD(X * 7, 100) + 1
+FROM SYSTEM_RANGE(1, 10000);
+
+ANALYZE TABLE bookings;
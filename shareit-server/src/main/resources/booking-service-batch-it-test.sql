@@ -0,0 +1,16 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru'), (2, 'user', 'user@mail.ru', 'user@mail.ru'),
+       (3, 'other', 'other@mail.ru', 'other@mail.ru');
+
+INSERT INTO items (id, name, description, available, owner_id)
+VALUES (1, 'item1', 'item1', true, 1), (2, 'item2', 'item2', false, 1), (3, 'item3', 'item3', true, 1);
+
+-- подтверждённое бронирование вещи 3 другим пользователем: 2100-01-03 .. 2100-01-04
+INSERT INTO bookings (id, status, start_date, end_date, item_id, booker_id)
+VALUES (1000, 'APPROVED', '2100-01-03T00:00:00', '2100-01-04T00:00:00', 3, 3);
@@ -0,0 +1,20 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru'),
+       (2, 'user', 'user@mail.ru', 'user@mail.ru'),
+       (3, 'other', 'other@mail.ru', 'other@mail.ru');
+
+INSERT INTO items (id, name, description, available, owner_id)
+VALUES (1, 'item1', 'item1', true, 1);
+
+INSERT INTO bookings (id, status, start_date, end_date, item_id, booker_id)
+VALUES (1000, 'WAITING', '2100-01-01T00:00:00', '2100-01-02T00:00:00', 1, 2),
+       (1001, 'WAITING', '2100-01-01T06:00:00', '2100-01-02T06:00:00', 1, 3),
+       (1002, 'WAITING', '2100-01-01T12:00:00', '2100-01-02T12:00:00', 1, 2),
+       (1003, 'WAITING', '2100-01-01T18:00:00', '2100-01-02T18:00:00', 1, 3),
+       (1004, 'APPROVED', '2100-02-01T00:00:00', '2100-02-02T00:00:00', 1, 2);
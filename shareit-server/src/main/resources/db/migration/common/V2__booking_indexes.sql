@@ -0,0 +1,14 @@
+-- GET /bookings: booker_id = ? [AND StateFilter] ORDER BY end_date DESC, id DESC (ALL, PAST + keyset)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (booker_id, end_date DESC, id DESC);
+
+-- GET /bookings: booker_id = ? AND start_date > ? (FUTURE), start_date <= ? (CURRENT)
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+
+-- GET /bookings/owner: bookings JOIN items ON owner_id = ?
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+-- GET /bookings/owner: item_id IN (...) ORDER BY end_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date DESC, id DESC);
+
+-- последнее/следующее бронирование вещи: item_id = ? AND start_date < ? / > ?
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
@@ -0,0 +1,3 @@
+-- версии для ETag: увеличиваются при каждом изменении, видимом в ответах GET /items и /requests
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
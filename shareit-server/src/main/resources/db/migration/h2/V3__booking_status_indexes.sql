@@ -0,0 +1,4 @@
+-- H2 не поддерживает частичные индексы, статус добавляется в ключ индекса
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_end ON bookings (booker_id, status, end_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date DESC, id DESC);
@@ -0,0 +1,13 @@
+-- последнее бронирование вещи: status = 'APPROVED' AND item_id = ? AND start_date < ? ORDER BY start_date DESC
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_approved ON bookings (item_id, start_date)
+    WHERE status = 'APPROVED';
+
+-- следующее бронирование вещи: status IN ('APPROVED', 'WAITING') AND item_id = ? AND start_date > ?
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_approved_waiting ON bookings (item_id, start_date)
+    WHERE status IN ('APPROVED', 'WAITING');
+
+-- StateFilter.WAITING для автора бронирования и для владельца вещи
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end_waiting ON bookings (booker_id, end_date DESC, id DESC)
+    WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end_waiting ON bookings (item_id, end_date DESC, id DESC)
+    WHERE status = 'WAITING';
@@ -0,0 +1,14 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru'), (2, 'user', 'user@mail.ru', 'user@mail.ru');
+
+INSERT INTO requests (id, description, created, user_id)
+SELECT X, 'request' || X, DATEADD('MINUTE', X, TIMESTAMP '2022-01-01 00:00:00'), 2 FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO items (id, name, description, available, owner_id, request_id)
+SELECT X, 'item' || X, 'item' || X, true, 1, MOD(X, 100) + 1 FROM SYSTEM_RANGE(1, 300);
@@ -0,0 +1,15 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru'), (2, 'user', 'user@mail.ru', 'user@mail.ru');
+
+INSERT INTO items (id, name, description, available, owner_id)
+SELECT X, 'item' || X, 'item' || X, true, 1 FROM SYSTEM_RANGE(1, 100);
+
+INSERT INTO comments (id, text, created, item_id, author_id)
+SELECT X, 'comment' || X, DATEADD('MINUTE', X, TIMESTAMP '2022-01-01 00:00:00'), MOD(X, 100) + 1, 2
+FROM SYSTEM_RANGE(1, 1000);
@@ -0,0 +1,20 @@
+DELETE FROM comments;
+DELETE FROM bookings;
+DELETE FROM items;
+DELETE FROM requests;
+DELETE FROM users;
+
+INSERT INTO users (id, name, email, email_lowercase)
+VALUES (101, 'owner', 'owner@mail.ru', 'owner@mail.ru'), (102, 'user', 'user@mail.ru', 'user@mail.ru');
+
+INSERT INTO requests (id, description, created, user_id)
+VALUES (101, 'request1', '2022-01-01T00:00:00', 102);
+
+INSERT INTO items (id, name, description, available, owner_id, request_id)
+VALUES (101, 'item1', 'item1', true, 101, 101), (102, 'item2', 'item2', true, 101, null);
+
+INSERT INTO bookings (id, status, start_date, end_date, item_id, booker_id)
+VALUES (101, 'APPROVED', '2022-01-01T00:00:00', '2022-01-02T00:00:00', 101, 102);
+
+INSERT INTO comments (id, text, created, item_id, author_id)
+VALUES (101, 'comment1', '2022-01-03T00:00:00', 101, 102);
@@ -0,0 +1,31 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.jdbc.SqlScriptsTestExecutionListener;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import ru.practicum.shareit.user.storage.UserIdFilter;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Сброс второго уровня кэша Hibernate и фильтра id пользователей перед каждым тестом: контексты
+ * переиспользуются между тестами, а данные загружаются и удаляются скриптами @Sql в обход сервисов.
+ */
+public class CacheResetListener extends AbstractTestExecutionListener {
+
+    @Override
+    public int getOrder() {
+        return new SqlScriptsTestExecutionListener().getOrder() + 1;
+    }
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        testContext.getApplicationContext()
+                .getBeanProvider(EntityManagerFactory.class)
+                .ifAvailable(emf -> emf.unwrap(SessionFactory.class).getCache().evictAllRegions());
+        testContext.getApplicationContext()
+                .getBeanProvider(UserIdFilter.class)
+                .ifAvailable(UserIdFilter::clear);
+    }
+}
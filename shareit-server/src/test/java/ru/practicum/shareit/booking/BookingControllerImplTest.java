@@ -12,10 +12,14 @@ import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.EnumMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.library.api.booking.BookingController;
 import ru.practicum.shareit.library.api.booking.dto.BookingDto;
 import ru.practicum.shareit.library.api.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.item.dto.ItemDto;
 import ru.practicum.shareit.library.api.item.dto.ItemSimpleDto;
 import ru.practicum.shareit.library.api.user.dto.UserDto;
@@ -23,6 +27,9 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,11 +39,15 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingControllerImpl.class)
@@ -179,6 +190,69 @@ class BookingControllerImplTest {
         verify(bookingMapper).mapBookingToBookingDto(getBooking());
     }
 
+    @Test
+    void createBookingRequests_ifSomeEntriesFailed_thenReturnResultPerEntry() throws Exception {
+        Booking newBooking = getNewBooking();
+        CreateBookingDto invalidDate = CreateBookingDto.builder().itemId(itemId).start("2100-01").end("2100-02").build();
+        when(bookingMapper.mapCreateBookingDtoToBooking(getCreateBookingDto())).thenReturn(newBooking);
+        when(bookingMapper.mapCreateBookingDtoToBooking(invalidDate))
+                .thenThrow(new DateTimeParseException("", "2100-01", 0));
+        when(bookingService.createBookingRequests(eq(bookerId), anyList())).thenReturn(List.of(
+                BookingBatchResult.created(getBooking()),
+                BookingBatchResult.failed(new ConflictException("Вещь с id=1 уже забронирована"))));
+        when(bookingMapper.mapBookingToBookingDto(any(Booking.class))).thenReturn(getBookingDto());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(
+                                List.of(getCreateBookingDto(), invalidDate, getCreateBookingDto()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].booking.id").value(1))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[2].status").value(409))
+                .andExpect(jsonPath("$[2].error").value("Вещь с id=1 уже забронирована"));
+
+        verify(bookingService).createBookingRequests(bookerId, List.of(newBooking, newBooking));
+    }
+
+    @Test
+    void createBookingRequests_ifNullEntry_thenBadRequestForEntry() throws Exception {
+        Booking newBooking = getNewBooking();
+        when(bookingMapper.mapCreateBookingDtoToBooking(getCreateBookingDto())).thenReturn(newBooking);
+        when(bookingService.createBookingRequests(eq(bookerId), anyList()))
+                .thenReturn(List.of(BookingBatchResult.created(getBooking())));
+        when(bookingMapper.mapBookingToBookingDto(any(Booking.class))).thenReturn(getBookingDto());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Arrays.asList(getCreateBookingDto(), null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        verify(bookingService).createBookingRequests(bookerId, List.of(newBooking));
+    }
+
+    @Test
+    void createBookingRequests_ifTooManyEntries_thenBadRequest() throws Exception {
+        List<CreateBookingDto> createBookingDtos =
+                Collections.nCopies(BookingController.MAX_BATCH_SIZE + 1, getCreateBookingDto());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(createBookingDtos)))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).createBookingRequests(anyLong(), anyList());
+    }
+
     @Test
     void approveBooking() throws Exception {
         Booking booking = getBooking();
@@ -243,4 +317,47 @@ class BookingControllerImplTest {
         verify(bookingService).getOwnerBookings(StateFilter.CURRENT, ownerId, 0, 10);
         verify(bookingMapper).mapBookingToBookingDto(List.of(booking));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookings_ifPageFull_thenReturnNextCursor() throws Exception {
+        Booking booking = getBooking();
+        when(enumMapper.mapStringToStateFilter(anyString())).thenReturn(StateFilter.ALL);
+        when(bookingService.getUserBookings(any(StateFilter.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(booking));
+        when(bookingMapper.mapBookingToBookingDto(anyList())).thenReturn(List.of(getBookingDto()));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(booking).encode()));
+    }
+
+    @Test
+    void getUserBookings_ifAfterPresent_thenUseCursor() throws Exception {
+        Booking booking = getBooking();
+        BookingCursor after = BookingCursor.of(booking);
+        when(enumMapper.mapStringToStateFilter(anyString())).thenReturn(StateFilter.ALL);
+        when(bookingService.getUserBookings(any(StateFilter.class), anyLong(), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of());
+        when(bookingMapper.mapBookingToBookingDto(anyList())).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookerId)
+                        .param("size", "10")
+                        .param("after", after.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        verify(bookingService).getUserBookings(StateFilter.ALL, bookerId, after, 10);
+    }
+
+    @Test
+    void getOwnerBookings_ifAfterInvalid_thenBadRequest() throws Exception {
+        when(enumMapper.mapStringToStateFilter(anyString())).thenReturn(StateFilter.ALL);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
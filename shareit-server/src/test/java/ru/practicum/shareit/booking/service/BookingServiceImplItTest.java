@@ -1,21 +1,37 @@
 package ru.practicum.shareit.booking.service;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.enums.BookStatus;
+import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,6 +41,9 @@ class BookingServiceImplItTest {
     @Autowired
     BookingService bookingService;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @Test
     void createBookingRequest_ifBookingStartIsNull_thenThrowConstraintViolationException() {
         User booker = User.builder().id(100L).build();
@@ -193,4 +212,199 @@ class BookingServiceImplItTest {
         assertTrue(saved.isPresent());
         assertEquals(actual, saved.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/booking-service-approve-it-test.sql")
+    void checkOwnerAndApproveBooking_ifConcurrentApproveAndReject_thenOnlyOneApplied() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<Booking>> results = new ArrayList<>();
+            for (boolean approved : new boolean[]{true, false}) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    return bookingService.checkOwnerAndApproveBooking(1000L, 1L, approved);
+                }));
+            }
+            startLatch.countDown();
+
+            List<BookStatus> applied = new ArrayList<>();
+            int rejectedCalls = 0;
+            for (Future<Booking> result : results) {
+                try {
+                    applied.add(result.get(10, TimeUnit.SECONDS).getStatus());
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof BadRequestException, e.getCause().toString());
+                    rejectedCalls++;
+                }
+            }
+
+            assertEquals(1, applied.size());
+            assertEquals(1, rejectedCalls);
+            assertEquals(applied.get(0), bookingService.getBookingById(1000L, 1L).orElseThrow().getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Sql("/booking-service-overlap-it-test.sql")
+    void checkOwnerAndApproveBooking_ifParallelApproveOverlapping_thenOnlyOneApproved() throws Exception {
+        List<Long> bookingIds = List.of(1000L, 1001L, 1002L, 1003L);
+        ExecutorService executor = Executors.newFixedThreadPool(bookingIds.size());
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<Booking>> results = new ArrayList<>();
+            for (long bookingId : bookingIds) {
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    return bookingService.checkOwnerAndApproveBooking(bookingId, 1L, true);
+                }));
+            }
+            startLatch.countDown();
+
+            int approvedCalls = 0;
+            int conflictCalls = 0;
+            for (Future<Booking> result : results) {
+                try {
+                    assertEquals(BookStatus.APPROVED, result.get(10, TimeUnit.SECONDS).getStatus());
+                    approvedCalls++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof ConflictException, e.getCause().toString());
+                    conflictCalls++;
+                }
+            }
+
+            assertEquals(1, approvedCalls);
+            assertEquals(bookingIds.size() - 1, conflictCalls);
+            long approvedInDb = bookingService.getOwnerBookings(StateFilter.ALL, 1L, 0, 100).stream()
+                    .filter(booking -> bookingIds.contains(booking.getId()))
+                    .filter(booking -> booking.getStatus() == BookStatus.APPROVED)
+                    .count();
+            assertEquals(1, approvedInDb);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Sql("/booking-service-overlap-it-test.sql")
+    void createBookingRequest_ifParallelRequestsForOneItem_thenRejectOnlyOverlappingApproved() throws Exception {
+        // нечётные запросы пересекаются с подтверждённым бронированием 1004, чётные - нет
+        final int requestCount = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        try {
+            List<Future<Booking>> results = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                LocalDateTime start = i % 2 == 1
+                        ? LocalDateTime.of(2100, 2, 1, 12, 0)
+                        : LocalDateTime.of(2100, 3, 1 + i, 0, 0);
+                Booking newBooking = Booking.builder()
+                        .booker(User.builder().id(2L + i % 2).build())
+                        .item(Item.builder().id(1L).build())
+                        .status(BookStatus.WAITING)
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .build();
+                results.add(executor.submit(() -> {
+                    startLatch.await();
+                    return bookingService.createBookingRequest(newBooking);
+                }));
+            }
+            startLatch.countDown();
+
+            for (int i = 0; i < requestCount; i++) {
+                if (i % 2 == 1) {
+                    ExecutionException e = assertThrows(ExecutionException.class,
+                            results.get(i)::get);
+                    assertTrue(e.getCause() instanceof ConflictException, e.getCause().toString());
+                } else {
+                    assertNotNull(results.get(i).get(10, TimeUnit.SECONDS).getId());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Booking newBooking(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(itemId != null ? Item.builder().id(itemId).build() : null)
+                .status(BookStatus.WAITING)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    @Test
+    @Sql("/booking-service-batch-it-test.sql")
+    void createBookingRequests_ifSomeEntriesInvalid_thenCreateOthers() {
+        LocalDateTime start = LocalDateTime.of(2100, 1, 1, 0, 0, 0);
+        List<Booking> bookings = List.of(
+                newBooking(1L, start, start.plusDays(1)),
+                newBooking(2L, start, start.plusDays(1)),
+                newBooking(99L, start, start.plusDays(1)),
+                newBooking(3L, start.plusDays(2), start.plusDays(3)),
+                newBooking(3L, null, start.plusDays(1)),
+                newBooking(null, start, start.plusDays(1)),
+                newBooking(3L, start.plusDays(10), start.plusDays(11)));
+
+        List<BookingBatchResult> actual = bookingService.createBookingRequests(2L, bookings);
+
+        assertEquals(7, actual.size());
+        assertNull(actual.get(0).getError());
+        assertInstanceOf(BadRequestException.class, actual.get(1).getError());
+        assertInstanceOf(NotFoundException.class, actual.get(2).getError());
+        assertInstanceOf(ConflictException.class, actual.get(3).getError());
+        assertInstanceOf(BadRequestException.class, actual.get(4).getError());
+        assertInstanceOf(BadRequestException.class, actual.get(5).getError());
+        assertNull(actual.get(6).getError());
+
+        Booking created = actual.get(6).getBooking();
+        assertNotNull(created);
+        assertEquals(BookStatus.WAITING, created.getStatus());
+        assertEquals(3L, created.getItem().getId());
+        var saved = bookingService.getBookingById(created.getId(), 2L);
+        assertTrue(saved.isPresent());
+        assertEquals(start.plusDays(10), saved.get().getStart());
+        assertTrue(bookingService.getBookingById(actual.get(0).getBooking().getId(), 2L).isPresent());
+    }
+
+    @Test
+    @Sql("/booking-service-batch-it-test.sql")
+    void createBookingRequests_ifBookerNotFound_thenThrowNotFoundException() {
+        LocalDateTime start = LocalDateTime.of(2100, 1, 1, 0, 0, 0);
+
+        assertThrows(NotFoundException.class, () -> bookingService.createBookingRequests(
+                100L, List.of(newBooking(1L, start, start.plusDays(1)))));
+    }
+
+    private long countStatements(List<Booking> bookings) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        bookingService.createBookingRequests(2L, bookings);
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @Sql("/booking-service-batch-it-test.sql")
+    void createBookingRequests_ifMoreEntries_thenSameStatements() {
+        LocalDateTime start = LocalDateTime.of(2100, 2, 1, 0, 0, 0);
+        List<Booking> small = new ArrayList<>();
+        List<Booking> large = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            small.add(newBooking(i % 2 == 0 ? 1L : 3L, start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+        for (int i = 0; i < 30; i++) {
+            large.add(newBooking(i % 2 == 0 ? 1L : 3L, start.plusDays(i), start.plusDays(i).plusHours(1)));
+        }
+
+        long smallStatements = countStatements(small);
+        long largeStatements = countStatements(large);
+
+        // пользователь, вещи и пересечения читаются одним запросом, вставки - пакетами;
+        // больший пакет может потребовать ещё один блок id из последовательности
+        assertTrue(largeStatements <= smallStatements + 1, smallStatements + " -> " + largeStatements);
+    }
+}
@@ -9,10 +9,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.enums.StateFilter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -23,10 +26,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +53,9 @@ class BookingServiceImplTest {
     @Mock
     private UserStorage userStorage;
 
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -99,11 +108,11 @@ class BookingServiceImplTest {
     void createBookingRequest_ifItemNotFound_thenThrowNotFoundException() {
         Booking newBooking = getNewBooking();
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.empty());
+        when(itemStorage.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.createBookingRequest(newBooking));
 
-        verify(itemStorage).findById(newBooking.getItem().getId());
+        verify(itemStorage).findByIdForUpdate(newBooking.getItem().getId());
     }
 
     @Test
@@ -111,11 +120,11 @@ class BookingServiceImplTest {
         Item itemUnavailable = getValidItem().toBuilder().available(false).build();
         Booking newBooking = getNewBooking().toBuilder().item(itemUnavailable).build();
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(itemUnavailable));
+        when(itemStorage.findByIdForUpdate(anyLong())).thenReturn(Optional.of(itemUnavailable));
 
         assertThrows(BadRequestException.class, () -> bookingService.createBookingRequest(newBooking));
 
-        verify(itemStorage).findById(newBooking.getItem().getId());
+        verify(itemStorage).findByIdForUpdate(newBooking.getItem().getId());
     }
 
     @Test
@@ -132,15 +141,30 @@ class BookingServiceImplTest {
     void createBookingRequest_saveBooking() {
         Booking newBooking = getNewBooking().toBuilder().build();
         Booking expected = getBooking(null, newBooking.getStatus());
-        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(getValidItem()));
+        when(itemStorage.findByIdForUpdate(anyLong())).thenReturn(Optional.of(getValidItem()));
         when(userStorage.existsById(anyLong())).thenReturn(true);
         when(bookingStorage.save(any(Booking.class))).thenReturn(expected);
 
         bookingService.createBookingRequest(newBooking);
 
-        verify(itemStorage).findById(newBooking.getItem().getId());
+        verify(itemStorage).findByIdForUpdate(newBooking.getItem().getId());
         verify(userStorage).existsById(newBooking.getBooker().getId());
         verify(bookingStorage).save(expected);
+        verify(itemAvailabilityCache).evict(itemId);
+    }
+
+    @Test
+    void createBookingRequest_ifOverlapsApprovedBooking_thenThrowConflictException() {
+        Booking newBooking = getNewBooking();
+        when(itemStorage.findByIdForUpdate(anyLong())).thenReturn(Optional.of(getValidItem()));
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(bookingStorage.existsOverlap(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.createBookingRequest(newBooking));
+
+        verify(bookingStorage).existsOverlap(itemId, start, end);
+        verify(bookingStorage, never()).save(any(Booking.class));
     }
 
     @Test
@@ -178,7 +202,9 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class,
                 () -> bookingService.checkOwnerAndApproveBooking(bookingIdArg, ownerIdArg, approvedArg));
 
+        verify(itemStorage).findByBookingIdForUpdate(bookingIdArg);
         verify(bookingStorage).findAny(expected);
+        verify(bookingStorage, never()).updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class));
     }
 
     @Test
@@ -188,30 +214,64 @@ class BookingServiceImplTest {
 
         assertThrows(BadRequestException.class,
                 () -> bookingService.checkOwnerAndApproveBooking(1L, ownerId, true));
+
+        verify(bookingStorage, never()).updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class));
     }
 
     @Test
-    void checkOwnerAndApproveBooking_ifApproved_saveBookingApproved() {
+    void checkOwnerAndApproveBooking_ifOverlapsApprovedBooking_thenThrowConflictException() {
         Booking booking = getBooking(1L, BookStatus.WAITING);
-        Booking expected = booking.toBuilder().status(BookStatus.APPROVED).build();
         when(bookingStorage.findAny(any(BooleanExpression.class))).thenReturn(Optional.of(booking));
-        when(bookingStorage.save(any(Booking.class))).thenReturn(expected);
+        when(bookingStorage.existsOverlap(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
 
-        bookingService.checkOwnerAndApproveBooking(1L, ownerId, true);
+        assertThrows(ConflictException.class,
+                () -> bookingService.checkOwnerAndApproveBooking(1L, ownerId, true));
 
-        verify(bookingStorage).save(expected);
+        verify(bookingStorage).existsOverlap(itemId, start, end);
+        verify(bookingStorage, never()).updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class));
     }
 
     @Test
-    void checkOwnerAndApproveBooking_ifNotApproved_saveBookingRejected() {
+    void checkOwnerAndApproveBooking_ifStatusChangedConcurrently_thenThrowBadRequestException() {
         Booking booking = getBooking(1L, BookStatus.WAITING);
-        Booking expected = booking.toBuilder().status(BookStatus.REJECTED).build();
         when(bookingStorage.findAny(any(BooleanExpression.class))).thenReturn(Optional.of(booking));
-        when(bookingStorage.save(any(Booking.class))).thenReturn(expected);
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class))).thenReturn(0L);
 
-        bookingService.checkOwnerAndApproveBooking(1L, ownerId, false);
+        assertThrows(BadRequestException.class,
+                () -> bookingService.checkOwnerAndApproveBooking(1L, ownerId, true));
+    }
 
-        verify(bookingStorage).save(expected);
+    @Test
+    void checkOwnerAndApproveBooking_ifApproved_updateStatusApproved() {
+        Booking booking = getBooking(1L, BookStatus.WAITING);
+        when(bookingStorage.findAny(any(BooleanExpression.class))).thenReturn(Optional.of(booking));
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class))).thenReturn(1L);
+
+        Booking actual = bookingService.checkOwnerAndApproveBooking(1L, ownerId, true);
+
+        verify(itemStorage).findByBookingIdForUpdate(1L);
+        verify(bookingStorage).existsOverlap(itemId, start, end);
+        verify(bookingStorage).updateStatusIfWaiting(1L, ownerId, BookStatus.APPROVED);
+        verify(bookingStorage, never()).save(any(Booking.class));
+        assertEquals(booking, actual);
+        assertEquals(BookStatus.APPROVED, actual.getStatus());
+        verify(itemAvailabilityCache).evict(itemId);
+        verify(itemStorage).incrementVersion(List.of(itemId));
+    }
+
+    @Test
+    void checkOwnerAndApproveBooking_ifNotApproved_updateStatusRejected() {
+        Booking expected = getBooking(1L, BookStatus.REJECTED);
+        when(bookingStorage.updateStatusIfWaiting(anyLong(), anyLong(), any(BookStatus.class))).thenReturn(1L);
+        when(bookingStorage.findAny(any(BooleanExpression.class))).thenReturn(Optional.of(expected));
+
+        Booking actual = bookingService.checkOwnerAndApproveBooking(1L, ownerId, false);
+
+        verify(itemStorage).findByBookingIdForUpdate(1L);
+        verify(bookingStorage).updateStatusIfWaiting(1L, ownerId, BookStatus.REJECTED);
+        verify(itemStorage).incrementVersion(List.of(expected.getItem().getId()));
+        assertEquals(expected, actual);
     }
 
     @Test
@@ -253,4 +313,28 @@ class BookingServiceImplTest {
 
         verify(bookingStorage).findAllBookingOrderByDateDesc(any(BooleanExpression.class), anyInt(), anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookings_ifCursorPresent_thenFindAfterCursor() {
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2022, 1, 1, 0, 0, 0), 5L);
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(bookingStorage.findAllBookingOrderByDateDesc(any(), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(getBooking(1L, BookStatus.APPROVED)));
+
+        bookingService.getUserBookings(StateFilter.ALL, bookerId, after, 20);
+
+        verify(bookingStorage).findAllBookingOrderByDateDesc(any(), eq(after), eq(20));
+    }
+
+    @Test
+    void getOwnerBookings_ifCursorPresent_thenFindAfterCursor() {
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2022, 1, 1, 0, 0, 0), 5L);
+        when(itemStorage.count(any(BooleanExpression.class))).thenReturn(1L);
+        when(bookingStorage.findAllBookingOrderByDateDesc(any(BooleanExpression.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(getBooking(1L, BookStatus.APPROVED)));
+
+        bookingService.getOwnerBookings(StateFilter.ALL, 1L, after, 20);
+
+        verify(bookingStorage).findAllBookingOrderByDateDesc(any(BooleanExpression.class), eq(after), eq(20));
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@SqlGroup({
+        @Sql({"/booking-index-plan-test.sql"}),
+        // ANALYZE в H2 фиксирует транзакцию, данные нужно удалить явно
+        @Sql(statements = {"DELETE FROM bookings", "DELETE FROM items", "DELETE FROM users"},
+                config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED),
+                executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+})
+class BookingIndexPlanTest {
+
+    @Autowired
+    private EntityManager em;
+
+    private String explain(String sql) {
+        return String.valueOf(em.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toUpperCase();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrate_ifApplied_thenIndexesCreated() {
+        List<String> indexes = em.createNativeQuery(
+                "SELECT UPPER(index_name) FROM information_schema.indexes WHERE UPPER(table_name) IN ('BOOKINGS', 'ITEMS')")
+                .getResultList();
+
+        assertTrue(indexes.containsAll(List.of(
+                "IDX_BOOKINGS_BOOKER_END",
+                "IDX_BOOKINGS_BOOKER_START",
+                "IDX_ITEMS_OWNER",
+                "IDX_BOOKINGS_ITEM_END",
+                "IDX_BOOKINGS_ITEM_START",
+                "IDX_BOOKINGS_ITEM_STATUS_START",
+                "IDX_BOOKINGS_BOOKER_STATUS_END",
+                "IDX_BOOKINGS_ITEM_STATUS_END")), indexes.toString());
+    }
+
+    @Test
+    void pastUserBookings_ifExplained_thenUseBookerEndIndex() {
+        String plan = explain("SELECT * FROM bookings b WHERE b.booker_id = 2"
+                + " AND b.end_date < TIMESTAMP '2022-06-01 00:00:00' ORDER BY b.end_date DESC, b.id DESC");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_BOOKER_END"), plan);
+    }
+
+    @Test
+    void futureUserBookings_ifExplained_thenUseBookerStartIndex() {
+        String plan = explain("SELECT * FROM bookings b WHERE b.booker_id = 2"
+                + " AND b.start_date > TIMESTAMP '2022-06-01 00:00:00' ORDER BY b.end_date DESC, b.id DESC");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_BOOKER_START"), plan);
+    }
+
+    @Test
+    void waitingUserBookings_ifExplained_thenUseStatusIndex() {
+        String plan = explain("SELECT * FROM bookings b WHERE b.booker_id = 2 AND b.status = 'WAITING'"
+                + " ORDER BY b.end_date DESC, b.id DESC");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_BOOKER_STATUS_END"), plan);
+    }
+
+    @Test
+    void lastItemBooking_ifExplained_thenUseItemIndex() {
+        String plan = explain("SELECT * FROM bookings b WHERE b.item_id = 1 AND b.status = 'APPROVED'"
+                + " AND b.start_date < TIMESTAMP '2022-06-01 00:00:00' ORDER BY b.start_date DESC LIMIT 1");
+
+        assertTrue(plan.contains("IDX_BOOKINGS_ITEM_"), plan);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.enums.BookStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Вставка 100 000 бронирований через BookingStorage.saveAll при двух отображениях Booking:
+ * прежнем, с id из БД (IDENTITY, схема до V6, Hibernate вставляет построчно), и текущем, с id
+ * из последовательности (pooled-lo) и пакетами JDBC. Перед каждым прогоном база очищается,
+ * поэтому запускается только на отдельной базе PostgreSQL или H2:
+ * SHAREIT_BENCHMARK_DB_URL=jdbc:postgresql://localhost:6541/bench?reWriteBatchedInserts=true
+ * SHAREIT_BENCHMARK_DB_USER=root SHAREIT_BENCHMARK_DB_PASSWORD=root mvn test -Dtest=BookingInsertBenchmarkTest
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "SHAREIT_BENCHMARK_DB_URL", matches = ".+")
+class BookingInsertBenchmarkTest {
+    private static final int BOOKINGS = 100_000;
+    // бронирований на транзакцию, как в пакетном создании бронирований
+    private static final int PER_TRANSACTION = 100;
+    private static final int WARM_UP = 10_000;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static String url;
+    private static String user;
+    private static String password;
+    private static boolean h2;
+
+    @BeforeAll
+    static void prepare() {
+        url = System.getenv("SHAREIT_BENCHMARK_DB_URL");
+        user = System.getenv("SHAREIT_BENCHMARK_DB_USER");
+        password = System.getenv("SHAREIT_BENCHMARK_DB_PASSWORD");
+        h2 = url.startsWith("jdbc:h2:");
+    }
+
+    private static void cleanDatabase() {
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .cleanDisabled(false)
+                .load()
+                .clean();
+    }
+
+    private static ConfigurableApplicationContext startServer(String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.driverClassName=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                "--shareit.item.search=jpa",
+                "--shareit.user.id-filter.enabled=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false"));
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .run(arguments.toArray(new String[0]));
+    }
+
+    private static long insertBookings(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, name, email, email_lowercase)"
+                + " VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id)"
+                + " VALUES (1, 'item', 'item', true, 1)");
+
+        BookingStorage bookingStorage = context.getBean(BookingStorage.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        saveAll(bookingStorage, transactionTemplate, 0, WARM_UP);
+        long start = System.nanoTime();
+        saveAll(bookingStorage, transactionTemplate, WARM_UP, WARM_UP + BOOKINGS);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(WARM_UP + BOOKINGS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class));
+        return millis;
+    }
+
+    private static void saveAll(BookingStorage bookingStorage, TransactionTemplate transactionTemplate,
+                                int from, int to) {
+        for (int i = from; i < to; i += PER_TRANSACTION) {
+            List<Booking> bookings = new ArrayList<>(PER_TRANSACTION);
+            for (int j = i; j < Math.min(i + PER_TRANSACTION, to); j++) {
+                bookings.add(Booking.builder()
+                        .status(BookStatus.WAITING)
+                        .start(START.plusMinutes(j * 2L))
+                        .end(START.plusMinutes(j * 2L + 1))
+                        .item(Item.builder().id(1L).build())
+                        .booker(User.builder().id(1L).build())
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> bookingStorage.saveAll(bookings));
+        }
+    }
+
+    @Test
+    void saveAll_ifHundredThousandBookings_thenLogTime() {
+        cleanDatabase();
+        long identityMillis;
+        // схема до последовательностей (V6) и Booking с GenerationType.IDENTITY
+        try (ConfigurableApplicationContext context = startServer(
+                "--spring.flyway.target=5",
+                "--spring.jpa.mapping-resources=benchmark/booking-identity-orm.xml")) {
+            identityMillis = insertBookings(context);
+        }
+
+        cleanDatabase();
+        long sequenceMillis;
+        try (ConfigurableApplicationContext context = startServer()) {
+            sequenceMillis = insertBookings(context);
+        }
+
+        log.info("bookings={}, {} per transaction: identity {} ms, sequence (pooled-lo) + JDBC batches {} ms",
+                BOOKINGS, PER_TRANSACTION, identityMillis, sequenceMillis);
+        assertTrue(sequenceMillis < identityMillis);
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -9,10 +11,18 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.enums.BookStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.QBooking;
 import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.persistence.EntityManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +40,15 @@ class BookingStorageTest {
     @Autowired
     private BookingStorage bookingStorage;
 
+    @Autowired
+    private UserStorage userStorage;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @Sql({"/booking-storage-test.sql"})
     void findAllBookingOrderByDateDesc_ifInvoked_thenReturnWithConditionAndOrder() {
@@ -67,6 +86,43 @@ class BookingStorageTest {
         assertEquals(3, actual.get(0).getId());
     }
 
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findAllBookingOrderByDateDesc_ifCursorPresent_thenReturnAfterCursor() {
+        BooleanExpression condition = QBooking.booking.booker.id.eq(2L);
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2022, 1, 6, 0, 0, 0), 3L);
+
+        List<Booking> actual = bookingStorage.findAllBookingOrderByDateDesc(condition, after, 100);
+
+        assertEquals(2, actual.size());
+        assertEquals(2, actual.get(0).getId());
+        assertEquals(1, actual.get(1).getId());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findAllBookingOrderByDateDesc_ifCursorEndEquals_thenCompareById() {
+        BooleanExpression condition = QBooking.booking.booker.id.eq(2L);
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2022, 1, 6, 0, 0, 0), 4L);
+
+        List<Booking> actual = bookingStorage.findAllBookingOrderByDateDesc(condition, after, 1);
+
+        assertEquals(1, actual.size());
+        assertEquals(3, actual.get(0).getId());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findAllBookingOrderByDateDesc_ifCursorNull_thenReturnFirstPage() {
+        BooleanExpression condition = QBooking.booking.booker.id.eq(2L);
+
+        List<Booking> actual = bookingStorage.findAllBookingOrderByDateDesc(condition, (BookingCursor) null, 2);
+
+        assertEquals(2, actual.size());
+        assertEquals(3, actual.get(0).getId());
+        assertEquals(2, actual.get(1).getId());
+    }
+
     @Test
     @Sql({"/booking-storage-test.sql"})
     void findAny_ifInvoked_thenReturnWithCondition() {
@@ -115,4 +171,143 @@ class BookingStorageTest {
         assertFalse(actual.isPresent());
     }
 
-}
\ No newline at end of file
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findLastAndNextItemBookings_ifInvoked_thenReturnLastApprovedAndNextBookingPerItem() {
+        LocalDateTime onDate = LocalDateTime.of(2022, 1, 2, 12, 0, 0);
+
+        List<Booking> actual = bookingStorage.findLastAndNextItemBookings(List.of(1L, 2L, 3L), onDate);
+
+        assertNotNull(actual);
+        assertEquals(2, actual.size());
+        assertTrue(actual.contains(Booking.builder().id(1L).build()));
+        assertTrue(actual.contains(Booking.builder().id(2L).build()));
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findLastAndNextItemBookings_ifNoBookingsAfterDate_thenReturnOnlyLast() {
+        LocalDateTime onDate = LocalDateTime.of(2022, 2, 1, 0, 0, 0);
+
+        List<Booking> actual = bookingStorage.findLastAndNextItemBookings(List.of(1L), onDate);
+
+        assertNotNull(actual);
+        assertEquals(1, actual.size());
+        assertEquals(3, actual.get(0).getId());
+    }
+
+    @Test
+    void findLastAndNextItemBookings_ifEmptyItemIds_thenReturnEmptyList() {
+        List<Booking> actual = bookingStorage.findLastAndNextItemBookings(List.of(), LocalDateTime.now());
+
+        assertNotNull(actual);
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void updateStatusIfWaiting_ifWaitingAndOwner_thenUpdate() {
+        long actual = bookingStorage.updateStatusIfWaiting(2L, 1L, BookStatus.APPROVED);
+
+        assertEquals(1, actual);
+        assertEquals(BookStatus.APPROVED, bookingStorage.findById(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void updateStatusIfWaiting_ifNotOwner_thenNotUpdate() {
+        long actual = bookingStorage.updateStatusIfWaiting(2L, 2L, BookStatus.APPROVED);
+
+        assertEquals(0, actual);
+        assertEquals(BookStatus.WAITING, bookingStorage.findById(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void updateStatusIfWaiting_ifNotWaiting_thenNotUpdate() {
+        long actual = bookingStorage.updateStatusIfWaiting(1L, 1L, BookStatus.REJECTED);
+
+        assertEquals(0, actual);
+        assertEquals(BookStatus.APPROVED, bookingStorage.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void existsOverlap_ifOverlapsApproved_thenReturnTrue() {
+        boolean actual = bookingStorage.existsOverlap(1L,
+                LocalDateTime.of(2022, 1, 1, 12, 0), LocalDateTime.of(2022, 1, 3, 0, 0));
+
+        assertTrue(actual);
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void existsOverlap_ifOverlapsOnlyWaiting_thenReturnFalse() {
+        boolean actual = bookingStorage.existsOverlap(1L,
+                LocalDateTime.of(2022, 1, 3, 6, 0), LocalDateTime.of(2022, 1, 3, 12, 0));
+
+        assertFalse(actual);
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void existsOverlap_ifAdjacentToApproved_thenReturnFalse() {
+        boolean actual = bookingStorage.existsOverlap(1L,
+                LocalDateTime.of(2022, 1, 2, 0, 0), LocalDateTime.of(2022, 1, 3, 0, 0));
+
+        assertFalse(actual);
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void existsOverlap_ifOtherItem_thenReturnFalse() {
+        boolean actual = bookingStorage.existsOverlap(3L,
+                LocalDateTime.of(2022, 1, 1, 0, 0), LocalDateTime.of(2022, 1, 6, 0, 0));
+
+        assertFalse(actual);
+    }
+
+    @Test
+    void saveAll_ifManyBookings_thenInsertInBatches() {
+        User booker = userStorage.save(User.builder().name("booker").email("booker@mail.ru").build());
+        Item item = itemStorage.save(Item.builder()
+                .name("item")
+                .description("item")
+                .available(true)
+                .owner(booker)
+                .build());
+        entityManager.flush();
+        List<Booking> bookings = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < 100; i++) {
+            bookings.add(Booking.builder()
+                    .status(BookStatus.WAITING)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .item(item)
+                    .booker(booker)
+                    .build());
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        bookingStorage.saveAll(bookings);
+        entityManager.flush();
+
+        // два блока id из последовательности и один INSERT, выполненный двумя пакетами по 50
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(100, bookings.stream().map(Booking::getId).distinct().count());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findApprovedOverlapping_ifInvoked_thenReturnOnlyApprovedInInterval() {
+        List<Booking> actual = bookingStorage.findApprovedOverlapping(List.of(1L, 2L),
+                LocalDateTime.of(2022, 1, 1, 12, 0, 0), LocalDateTime.of(2022, 1, 5, 12, 0, 0));
+
+        assertEquals(2, actual.size());
+        assertTrue(actual.stream().allMatch(b -> b.getStatus() == BookStatus.APPROVED));
+        assertTrue(bookingStorage.findApprovedOverlapping(List.of(2L),
+                LocalDateTime.of(2022, 1, 1, 0, 0, 0), LocalDateTime.of(2022, 1, 6, 0, 0, 0)).isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLongBitmapTest {
+    private final ConcurrentLongBitmap bitmap = new ConcurrentLongBitmap();
+
+    @Test
+    void contains_ifAddedAndRemoved_thenReflectChanges() {
+        assertTrue(bitmap.add(1L));
+        assertTrue(bitmap.add(64L));
+        assertTrue(bitmap.add(5_000_000L));
+
+        assertTrue(bitmap.contains(1L));
+        assertTrue(bitmap.contains(64L));
+        assertTrue(bitmap.contains(5_000_000L));
+        assertFalse(bitmap.contains(2L));
+        assertFalse(bitmap.contains(65L));
+
+        bitmap.remove(64L);
+
+        assertFalse(bitmap.contains(64L));
+        assertTrue(bitmap.contains(1L));
+    }
+
+    @Test
+    void add_ifIdOutOfRange_thenNotStored() {
+        assertFalse(bitmap.add(-1L));
+        assertFalse(bitmap.add(ConcurrentLongBitmap.MAX_ID));
+
+        assertFalse(bitmap.contains(-1L));
+        assertFalse(bitmap.contains(ConcurrentLongBitmap.MAX_ID));
+    }
+
+    @Test
+    void add_ifConcurrentWithGrowth_thenKeepAllIds() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            final long offset = thread;
+            executor.submit(() -> LongStream.range(0, 250_000)
+                    .forEach(i -> bitmap.add(i * 4 + offset)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(LongStream.range(0, 1_000_000).allMatch(bitmap::contains));
+    }
+
+    @Test
+    void clear_ifInvoked_thenEmpty() {
+        bitmap.add(1L);
+
+        bitmap.clear();
+
+        assertFalse(bitmap.contains(1L));
+    }
+
+    @Test
+    void clear_ifInvoked_thenEmptyAndAcceptsNewIds() {
+        bitmap.add(1L);
+        bitmap.add(5_000_000L);
+
+        bitmap.clear();
+
+        assertFalse(bitmap.contains(1L));
+        assertFalse(bitmap.contains(5_000_000L));
+        assertTrue(bitmap.add(5_000_000L));
+        assertTrue(bitmap.contains(5_000_000L));
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.model.ItemVersion;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL-запросы на вызов API: первый вызов после сброса второго уровня кэша и повторный, с заполненным кэшем.
+ */
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql("/second-level-cache-it-test.sql")
+class SecondLevelCacheItTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private ItemRequestStorage itemRequestStorage;
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertFewerStatementsWhenCached(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        long cold = countStatements(request);
+        long warm = countStatements(request);
+
+        String endpoint = request.buildRequest(null).getMethod() + " " + request.buildRequest(null).getRequestURI();
+        log.info("{} statements: {} -> {}", endpoint, cold, warm);
+        assertTrue(warm < cold, endpoint + ": " + cold + " -> " + warm);
+    }
+
+    @Test
+    void getUserById_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/users/101"));
+    }
+
+    @Test
+    void getItemById_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/items/101").header(USER_ID, 102));
+    }
+
+    @Test
+    void getOwnerItems_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/items").header(USER_ID, 101));
+    }
+
+    @Test
+    void getBookingById_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/bookings/101").header(USER_ID, 102));
+    }
+
+    @Test
+    void getUserBookings_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/bookings").header(USER_ID, 102));
+    }
+
+    @Test
+    void createItemRequest_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(post("/requests")
+                .header(USER_ID, 102)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"request\"}"));
+    }
+
+    @Test
+    void getItemRequests_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/requests").header(USER_ID, 102));
+    }
+
+    @Test
+    void getItemRequestById_ifCached_thenFewerStatements() throws Exception {
+        assertFewerStatementsWhenCached(get("/requests/101").header(USER_ID, 101));
+    }
+
+    @Test
+    void updateUser_ifCached_thenReadUpdatedFromCache() throws Exception {
+        userService.getUserById(101L);
+
+        userService.updateUser(User.builder().id(101L).name("updated").build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals("updated", userService.getUserById(101L).orElseThrow().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteUser_ifItemsCached_thenEvictCascadeDeleted() {
+        assertTrue(itemStorage.existsById(101L));
+        assertTrue(itemRequestStorage.existsById(101L));
+
+        // вещи владельца удаляются каскадом в БД, запрос - вместе с его автором
+        userService.deleteUser(101L);
+        userService.deleteUser(102L);
+
+        assertFalse(itemStorage.existsById(101L));
+        assertFalse(itemStorage.existsById(102L));
+        assertFalse(itemRequestStorage.existsById(101L));
+    }
+
+    @Test
+    void createBookingRequest_ifOtherItemCached_thenKeepItInCache() throws Exception {
+        assertTrue(itemStorage.existsById(102L));
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID, 102)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":101,\"start\":\"2100-01-01T00:00:00\",\"end\":\"2100-01-02T00:00:00\"}"))
+                .andExpect(status().isOk());
+
+        // версия вещи увеличивается SQL-запросом, область вещей не сбрасывается
+        assertEquals(new ItemVersion(101L, 1L), itemStorage.findVersion(101L).orElseThrow());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertTrue(itemStorage.existsById(102L));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
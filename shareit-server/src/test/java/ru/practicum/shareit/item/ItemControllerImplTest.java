@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
@@ -13,12 +14,14 @@ import ru.practicum.shareit.library.api.item.dto.CreateCommentDto;
 import ru.practicum.shareit.library.api.item.dto.CreateItemDto;
 import ru.practicum.shareit.library.api.item.dto.ItemDto;
 import ru.practicum.shareit.library.api.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.availability.ItemAvailability;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,11 +30,14 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemControllerImpl.class)
@@ -151,6 +157,32 @@ class ItemControllerImplTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getItemById_ifETagMatches_thenStatus304() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn(Optional.of("item-1-3"));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-3\""))
+                .andExpect(content().string(""));
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    void getItemById_ifETagChanged_thenStatus200WithETag() throws Exception {
+        when(itemService.getItemETag(1L, 1L)).thenReturn(Optional.of("item-1-4"));
+        when(itemMapper.mapItemToItemDto(any(Item.class))).thenReturn(getValidItemDto());
+        when(itemService.getItemById(1L, 1L)).thenReturn(Optional.of(getValidItem()));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-4\""));
+    }
+
     @Test
     void updateItem_isAvailable() throws Exception {
         when(itemMapper.mapUpdateItemDtoToItem(any())).thenReturn(getValidNewItem());
@@ -226,4 +258,28 @@ class ItemControllerImplTest {
         verify(itemService).checkAuthorItemAndCreateComment(1L, 1L, getValidNewComment());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemAvailability_isAvailable() throws Exception {
+        final LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        final LocalDateTime to = LocalDateTime.of(2100, 1, 2, 0, 0);
+        when(itemService.getItemAvailability(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(ItemAvailability.of(1L, from, to, List.of()));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("from", "2100-01-01T00:00:00")
+                        .param("to", "2100-01-02T00:00:00"))
+                .andExpect(status().isOk());
+
+        verify(itemService).getItemAvailability(1L, 2L, from, to);
+    }
+
+    @Test
+    void getItemAvailability_ifInvalidDate_thenStatus400() throws Exception {
+        mockMvc.perform(get("/items/1/availability")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("from", "01.01.2100")
+                        .param("to", "2100-01-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.enums.BookStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    private static BookedInterval interval(long id, int startHour, int endHour) {
+        return new BookedInterval(id, BookStatus.APPROVED, BASE.plusHours(startHour), BASE.plusHours(endHour));
+    }
+
+    @Test
+    void findOverlapping_ifInvoked_thenReturnOverlappingSortedByStart() {
+        IntervalTree tree = IntervalTree.of(List.of(
+                interval(3, 20, 30), interval(1, 0, 10), interval(2, 5, 100), interval(4, 40, 50)));
+
+        List<BookedInterval> actual = tree.findOverlapping(BASE.plusHours(25), BASE.plusHours(45));
+
+        assertEquals(List.of(interval(2, 5, 100), interval(3, 20, 30), interval(4, 40, 50)), actual);
+    }
+
+    @Test
+    void findOverlapping_ifAdjacent_thenNotReturn() {
+        IntervalTree tree = IntervalTree.of(List.of(interval(1, 0, 10), interval(2, 20, 30)));
+
+        assertTrue(tree.findOverlapping(BASE.plusHours(10), BASE.plusHours(20)).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_ifEmptyTree_thenReturnEmptyList() {
+        IntervalTree tree = IntervalTree.of(List.of());
+
+        assertEquals(0, tree.size());
+        assertTrue(tree.findOverlapping(BASE, BASE.plusHours(1)).isEmpty());
+    }
+
+    @Test
+    void findOverlapping_ifRandomIntervals_thenSameAsLinearScan() {
+        Random random = new Random(42);
+        List<BookedInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(10_000);
+            intervals.add(interval(i, start, start + 1 + random.nextInt(200)));
+        }
+        IntervalTree tree = IntervalTree.of(intervals);
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(10_000);
+            LocalDateTime windowFrom = BASE.plusHours(from);
+            LocalDateTime windowTo = BASE.plusHours(from + 1 + random.nextInt(300));
+            List<Long> expected = intervals.stream()
+                    .filter(interval -> interval.getStart().isBefore(windowTo) && interval.getEnd().isAfter(windowFrom))
+                    .sorted((a, b) -> a.getStart().equals(b.getStart())
+                            ? Long.compare(a.getBookingId(), b.getBookingId())
+                            : a.getStart().compareTo(b.getStart()))
+                    .map(BookedInterval::getBookingId)
+                    .collect(Collectors.toList());
+
+            List<Long> actual = tree.findOverlapping(windowFrom, windowTo).stream()
+                    .map(BookedInterval::getBookingId)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, actual);
+        }
+    }
+}
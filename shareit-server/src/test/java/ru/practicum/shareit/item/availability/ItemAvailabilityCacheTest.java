@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.availability;
+
+import com.querydsl.core.types.Predicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityCacheTest {
+
+    @Mock
+    private BookingStorage bookingStorage;
+
+    @Test
+    void get_ifCachedAndNotExpired_thenLoadOnce() {
+        when(bookingStorage.findAll(any(Predicate.class))).thenReturn(List.of());
+        ItemAvailabilityCache cache = new ItemAvailabilityCache(bookingStorage, 10, Duration.ofHours(1));
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(bookingStorage, times(1)).findAll(any(Predicate.class));
+    }
+
+    @Test
+    void get_ifExpired_thenReload() {
+        when(bookingStorage.findAll(any(Predicate.class))).thenReturn(List.of());
+        ItemAvailabilityCache cache = new ItemAvailabilityCache(bookingStorage, 10, Duration.ZERO);
+
+        cache.get(1L);
+        cache.get(1L);
+
+        verify(bookingStorage, times(2)).findAll(any(Predicate.class));
+    }
+
+    @Test
+    void get_ifEvictedByIds_thenReloadOnlyEvicted() {
+        when(bookingStorage.findAll(any(Predicate.class))).thenReturn(List.of());
+        ItemAvailabilityCache cache = new ItemAvailabilityCache(bookingStorage, 10, Duration.ofHours(1));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        cache.evict(List.of(1L, 2L));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        verify(bookingStorage, times(5)).findAll(any(Predicate.class));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.enums.BookStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemAvailabilityTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    private static LocalDateTime hour(int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    @Test
+    void of_ifNoBusy_thenWholeWindowFree() {
+        ItemAvailability actual = ItemAvailability.of(1L, hour(0), hour(10), List.of());
+
+        assertEquals(List.of(new TimeInterval(hour(0), hour(10))), actual.getFree());
+    }
+
+    @Test
+    void of_ifBusyOverlapAndExceedWindow_thenReturnGapsInsideWindow() {
+        List<BookedInterval> busy = List.of(
+                new BookedInterval(1L, BookStatus.APPROVED, hour(-5), hour(2)),
+                new BookedInterval(2L, BookStatus.WAITING, hour(4), hour(8)),
+                new BookedInterval(3L, BookStatus.APPROVED, hour(5), hour(6)),
+                new BookedInterval(4L, BookStatus.APPROVED, hour(8), hour(9)));
+
+        ItemAvailability actual = ItemAvailability.of(1L, hour(0), hour(10), busy);
+
+        assertEquals(List.of(
+                new TimeInterval(hour(2), hour(4)),
+                new TimeInterval(hour(9), hour(10))), actual.getFree());
+        assertEquals(busy, actual.getBusy());
+    }
+
+    @Test
+    void of_ifBusyCoversWindow_thenNoFree() {
+        List<BookedInterval> busy = List.of(new BookedInterval(1L, BookStatus.APPROVED, hour(-1), hour(11)));
+
+        ItemAvailability actual = ItemAvailability.of(1L, hour(0), hour(10), busy);
+
+        assertTrue(actual.getFree().isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "shareit.item.search=memory")
+class InMemoryItemSearchItTest {
+
+    @Autowired
+    private InMemoryItemSearch inMemoryItemSearch;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> search(String text) {
+        return itemService.getAvailableItemsBySubString(text, 1L, 0, 100).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getAvailableItemsBySubString_ifLoaded_thenReturnAvailableOnly() {
+        inMemoryItemSearch.load();
+
+        assertEquals(List.of(1L, 3L), search("ITEM"));
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getAvailableItemsBySubString_ifItemUpdated_thenReindex() {
+        inMemoryItemSearch.load();
+
+        itemService.checkOwnerAndUpdateItem(Item.builder().id(1L).name("Дрель").build(), 1L);
+        itemService.checkOwnerAndUpdateItem(Item.builder().id(3L).available(false).build(), 2L);
+        itemService.checkOwnerAndUpdateItem(Item.builder().id(2L).available(true).build(), 2L);
+
+        assertEquals(List.of(1L), search("дрель"));
+        assertEquals(List.of(1L, 2L), search("item"));
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getAvailableItemsBySubString_ifOwnerDeleted_thenItemsRemoved() {
+        inMemoryItemSearch.load();
+
+        userService.deleteUser(2L);
+
+        assertEquals(List.of(1L), search("item"));
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getAvailableItemsBySubString_ifItemDeletedOnOtherInstance_thenRemovedAfterRebuild() {
+        inMemoryItemSearch.load();
+
+        // удаление на другом экземпляре сервера: в обход сервиса этого экземпляра
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = 3");
+        jdbcTemplate.update("DELETE FROM items WHERE id = 3");
+        assertEquals(List.of(1L, 3L), search("item"));
+
+        inMemoryItemSearch.rebuild();
+
+        assertEquals(List.of(1L), search("item"));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemNgramIndexTest {
+
+    private Item getItem(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void find_ifSubStringInNameOrDescription_thenReturnIgnoreCase() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "Дрель", "Простая дрель", true));
+        index.put(getItem(2L, "Отвёртка", "Аккумуляторная ДРЕЛЬ-шуруповёрт", true));
+        index.put(getItem(3L, "Пила", "Ножовка", true));
+
+        assertEquals(List.of(1L, 2L), ids(index.find("дРеЛь", 0, 10)));
+        assertEquals(List.of(3L), ids(index.find("ножов", 0, 10)));
+        assertEquals(List.of(), ids(index.find("молоток", 0, 10)));
+    }
+
+    @Test
+    void find_ifAllGramsPresentButNoSubString_thenNotReturn() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "abcd", "xbcdy", true));
+
+        assertEquals(List.of(), ids(index.find("abcdy", 0, 10)));
+    }
+
+    @Test
+    void find_ifSubStringCrossesFields_thenNotReturn() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "ab", "cd", true));
+
+        assertEquals(List.of(), ids(index.find("abcd", 0, 10)));
+        assertEquals(List.of(), ids(index.find("bc", 0, 10)));
+    }
+
+    @Test
+    void find_ifShortText_thenScan() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(2L, "yy", "ab", true));
+        index.put(getItem(1L, "AB", "zz", true));
+        index.put(getItem(3L, "cc", "dd", true));
+
+        assertEquals(List.of(1L, 2L), ids(index.find("ab", 0, 10)));
+    }
+
+    @Test
+    void find_ifFromAndSize_thenReturnPage() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.put(getItem(id, "item" + id, "item", true));
+        }
+
+        assertEquals(List.of(2L, 3L), ids(index.find("item", 1, 2)));
+        assertEquals(List.of(2L, 3L), ids(index.find("it", 1, 2)));
+    }
+
+    @Test
+    void put_ifUpdated_thenReindex() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "Дрель", "описание", true));
+
+        index.put(getItem(1L, "Пила", "описание", true));
+
+        assertEquals(List.of(), ids(index.find("дрель", 0, 10)));
+        assertEquals(List.of(1L), ids(index.find("пила", 0, 10)));
+    }
+
+    @Test
+    void put_ifNotAvailable_thenRemove() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "Дрель", "описание", true));
+
+        index.put(getItem(1L, "Дрель", "описание", false));
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), ids(index.find("дрель", 0, 10)));
+
+        index.put(getItem(1L, "Дрель", "описание", true));
+
+        assertEquals(List.of(1L), ids(index.find("дрель", 0, 10)));
+    }
+
+    @Test
+    void find_ifFound_thenReturnItemFields() {
+        ItemNgramIndex index = new ItemNgramIndex();
+        index.put(getItem(1L, "Дрель", "описание", true).toBuilder()
+                .request(ItemRequest.builder().id(7L).build())
+                .build());
+
+        Item actual = index.find("дрель", 0, 10).get(0);
+
+        assertEquals("Дрель", actual.getName());
+        assertEquals("описание", actual.getDescription());
+        assertTrue(actual.getAvailable());
+        assertEquals(7L, actual.getRequest().getId());
+    }
+}
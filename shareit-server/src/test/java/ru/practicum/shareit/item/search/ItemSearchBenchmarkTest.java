@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.search;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение времени поиска на 1 000 000 вещей: lower(x) LIKE (JpaItemSearch) и ILIKE по pg_trgm (TrigramItemSearch).
+ * Запускается на отдельной (пустой) базе PostgreSQL:
+ * SHAREIT_BENCHMARK_DB_URL=jdbc:postgresql://localhost:6541/bench SHAREIT_BENCHMARK_DB_USER=root
+ * SHAREIT_BENCHMARK_DB_PASSWORD=root mvn test -Dtest=ItemSearchBenchmarkTest
+ */
+@EnabledIfEnvironmentVariable(named = "SHAREIT_BENCHMARK_DB_URL", matches = ".+")
+class ItemSearchBenchmarkTest {
+    private static final int ITEMS = 1_000_000;
+    private static final int RUNS = 20;
+    private static final String TEXT = "дрель 4242";
+
+    private static final String LIKE_SQL = "SELECT i.* FROM items i WHERE i.available = true"
+            + " AND (lower(i.name) LIKE lower(?) OR lower(i.description) LIKE lower(?)) LIMIT 20";
+    private static final String TRIGRAM_SQL = "SELECT i.* FROM items i WHERE i.available = true"
+            + " AND (i.name ILIKE ? ESCAPE '\\' OR i.description ILIKE ? ESCAPE '\\') ORDER BY i.id LIMIT 20";
+
+    private static String url;
+    private static String user;
+    private static String password;
+
+    @BeforeAll
+    static void prepare() throws SQLException {
+        url = System.getenv("SHAREIT_BENCHMARK_DB_URL");
+        user = System.getenv("SHAREIT_BENCHMARK_DB_USER");
+        password = System.getenv("SHAREIT_BENCHMARK_DB_PASSWORD");
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE comments, bookings, items, requests, users CASCADE");
+            statement.execute("INSERT INTO users (id, name, email, email_lowercase)"
+                    + " VALUES (1, 'owner', 'owner@mail.ru', 'owner@mail.ru')");
+            statement.execute("INSERT INTO items (id, name, description, available, owner_id)"
+                    + " SELECT x, 'дрель ' || x, 'аккумуляторная дрель, модель ' || md5(x::text), x % 10 <> 0, 1"
+                    + " FROM generate_series(1, " + ITEMS + ") AS x");
+            statement.execute("ANALYZE items");
+        }
+    }
+
+    private static long measureMicros(String sql, String pattern) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, pattern);
+            statement.setString(2, pattern);
+            long total = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong("id");
+                    }
+                }
+                total += System.nanoTime() - start;
+            }
+            return total / RUNS / 1_000;
+        }
+    }
+
+    private static String explain(String sql, String pattern) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setString(1, pattern);
+            statement.setString(2, pattern);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    @Test
+    void search_ifMillionItems_thenPrintQueryTime() throws SQLException {
+        String pattern = TrigramItemSearch.toContainsPattern(TEXT);
+
+        long likeMicros = measureMicros(LIKE_SQL, pattern);
+        long trigramMicros = measureMicros(TRIGRAM_SQL, pattern);
+        String trigramPlan = explain(TRIGRAM_SQL, pattern);
+
+        System.out.printf("items=%d, text='%s': lower LIKE %d us, pg_trgm ILIKE %d us%n%s",
+                ITEMS, TEXT, likeMicros, trigramMicros, trigramPlan);
+        assertTrue(trigramPlan.contains("_trgm"), trigramPlan);
+    }
+}
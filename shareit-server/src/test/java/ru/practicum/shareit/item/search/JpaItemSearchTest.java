@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.storage.ItemStorage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaItemSearchTest {
+
+    @Mock
+    private ItemStorage itemStorage;
+
+    @InjectMocks
+    private JpaItemSearch itemSearch;
+
+    @Test
+    void findAvailableBySubString_ifInvoked_thenFindByAvailableAndText() {
+        Item item = Item.builder().id(1L).build();
+        when(itemStorage.findByCondition(any(BooleanExpression.class), anyInt(), anyInt())).thenReturn(List.of(item));
+        BooleanExpression byTextInNameOrDescription = QItem.item.name.containsIgnoreCase("abc")
+                .or(QItem.item.description.containsIgnoreCase("abc"));
+        BooleanExpression byAvailableTrue = QItem.item.available.isTrue();
+
+        var actual = itemSearch.findAvailableBySubString("abc", 0, 10);
+
+        verify(itemStorage).findByCondition(byAvailableTrue.and(byTextInNameOrDescription), 0, 10);
+        assertEquals(List.of(item), actual);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongPostingListTest {
+
+    @Test
+    void add_ifUnordered_thenKeepSortedWithoutDuplicates() {
+        LongPostingList list = new LongPostingList();
+        long[] values = {5, 1, 9, 3, 5, 7, 1};
+        for (long value : values) {
+            list.add(value);
+        }
+
+        assertEquals(5, list.size());
+        long[] expected = {1, 3, 5, 7, 9};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], list.get(i));
+        }
+    }
+
+    @Test
+    void remove_ifPresent_thenRemove() {
+        LongPostingList list = new LongPostingList();
+        for (long value = 1; value <= 100; value++) {
+            list.add(value);
+        }
+
+        for (long value = 1; value <= 100; value += 2) {
+            list.remove(value);
+        }
+        list.remove(1000);
+
+        assertEquals(50, list.size());
+        assertFalse(list.contains(1));
+        assertTrue(list.contains(2));
+        assertEquals(100, list.get(49));
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramItemSearchTest {
+
+    @Test
+    void toContainsPattern_ifPlainText_thenWrapWithPercent() {
+        assertEquals("%дрель%", TrigramItemSearch.toContainsPattern("дрель"));
+    }
+
+    @Test
+    void toContainsPattern_ifLikeWildcards_thenEscape() {
+        assertEquals("%100\\%\\_a\\\\b%", TrigramItemSearch.toContainsPattern("100%_a\\b"));
+    }
+}
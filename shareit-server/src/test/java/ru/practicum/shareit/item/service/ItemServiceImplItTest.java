@@ -4,10 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.enums.BookStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.availability.BookedInterval;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.TimeInterval;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,6 +26,9 @@ class ItemServiceImplItTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private BookingService bookingService;
+
     @Test
     @Sql("/item-service-it-test.sql")
     void getOwnedItems_ifUserNotFound_thenThrowNotFoundException() {
@@ -41,4 +53,77 @@ class ItemServiceImplItTest {
         assertEquals(1, actual.get(0).getComments().size());
         assertEquals(1, actual.get(0).getComments().get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/item-availability-it-test.sql")
+    void getItemAvailability_ifBookingsChanged_thenReturnActualIntervals() {
+        final LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        final LocalDateTime to = LocalDateTime.of(2100, 1, 10, 0, 0);
+
+        ItemAvailability before = itemService.getItemAvailability(1L, 2L, from, to);
+
+        assertEquals(List.of(1000L, 1002L), bookingIds(before));
+        assertEquals(3, before.getFree().size());
+        assertEquals(new TimeInterval(from, LocalDateTime.of(2100, 1, 3, 0, 0)), before.getFree().get(0));
+
+        Booking created = bookingService.createBookingRequest(Booking.builder()
+                .booker(User.builder().id(2L).build())
+                .item(Item.builder().id(1L).build())
+                .status(BookStatus.WAITING)
+                .start(LocalDateTime.of(2100, 1, 5, 0, 0))
+                .end(LocalDateTime.of(2100, 1, 6, 0, 0))
+                .build());
+        bookingService.checkOwnerAndApproveBooking(1002L, 1L, false);
+
+        ItemAvailability after = itemService.getItemAvailability(1L, 2L, from, to);
+
+        assertEquals(List.of(1000L, created.getId()), bookingIds(after));
+        assertEquals(new TimeInterval(LocalDateTime.of(2100, 1, 6, 0, 0), to), after.getFree().get(2));
+    }
+
+    private static List<Long> bookingIds(ItemAvailability availability) {
+        return availability.getBusy().stream()
+                .map(BookedInterval::getBookingId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getItemETag_ifNothingChanged_thenReturnSameTag() {
+        String first = itemService.getItemETag(1L, 2L).orElseThrow();
+        String second = itemService.getItemETag(1L, 2L).orElseThrow();
+
+        assertEquals(first, second);
+        assertNotEquals(first, itemService.getItemETag(1L, 1L).orElseThrow());
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getItemETag_ifItemUpdated_thenReturnNewTag() {
+        String initial = itemService.getItemETag(1L, 2L).orElseThrow();
+        String otherItem = itemService.getItemETag(3L, 2L).orElseThrow();
+
+        itemService.checkOwnerAndUpdateItem(Item.builder().id(1L).name("updated").build(), 1L);
+
+        assertNotEquals(initial, itemService.getItemETag(1L, 2L).orElseThrow());
+        assertEquals(otherItem, itemService.getItemETag(3L, 2L).orElseThrow());
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getItemETag_ifUserOrItemNotFound_thenReturnEmpty() {
+        assertTrue(itemService.getItemETag(1L, 10000L).isEmpty());
+        assertTrue(itemService.getItemETag(10000L, 1L).isEmpty());
+    }
+
+    @Test
+    @Sql("/item-service-it-test.sql")
+    void getOwnedItemsETag_ifBookingApproved_thenReturnNewTag() {
+        String initial = itemService.getOwnedItemsETag(2L, 0, 20).orElseThrow();
+
+        bookingService.checkOwnerAndApproveBooking(2L, 2L, true);
+
+        assertNotEquals(initial, itemService.getOwnedItemsETag(2L, 0, 20).orElseThrow());
+        assertTrue(itemService.getOwnedItemsETag(10000L, 0, 20).isEmpty());
+    }
+}
@@ -11,25 +11,35 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.library.api.exception.BadRequestException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.BookedInterval;
+import ru.practicum.shareit.item.availability.IntervalTree;
+import ru.practicum.shareit.item.availability.ItemAvailability;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.storage.CommentStorage;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,6 +58,12 @@ class ItemServiceImplTest {
     @Mock
     private BookingStorage bookingStorage;
 
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -100,6 +116,7 @@ class ItemServiceImplTest {
 
         verify(userStorage).findById(1L);
         verify(itemStorage).save(expectedItem);
+        verify(itemSearch).onItemSaved(expectedItem);
         assertEquals(expectedItem, actual);
     }
 
@@ -185,6 +202,7 @@ class ItemServiceImplTest {
 
         verify(itemStorage).findById(oldItem.getId());
         verify(itemStorage).save(expectedItem);
+        verify(itemSearch).onItemSaved(expectedItem);
         assertEquals(expectedItem, actual);
     }
 
@@ -208,18 +226,53 @@ class ItemServiceImplTest {
         when(userStorage.existsById(anyLong())).thenReturn(true);
         when(itemStorage.findByConditionWithCommentsOrder(any(BooleanExpression.class), any(), anyInt(), anyInt()))
                 .thenReturn(List.of(expectedItem));
-        when(bookingStorage.findTopOrderByTime(any(BooleanExpression.class), any())).thenReturn(Optional.empty());
+        when(bookingStorage.findLastAndNextItemBookings(anyCollection(), any())).thenReturn(List.of());
 
         var actual = itemService.getOwnedItems(user.getId(), 0, 10);
 
         expectedItem = expectedItem.toBuilder().comments(comments).build();
         verify(userStorage).existsById(user.getId());
         verify(itemStorage).findByConditionWithCommentsOrder(QItem.item.owner.id.eq(user.getId()), QItem.item.id.asc(), 0, 10);
+        verify(bookingStorage).findLastAndNextItemBookings(eq(Set.of(expectedItem.getId())), any());
         assertNotNull(actual);
         assertEquals(1, actual.size());
         assertEquals(expectedItem, actual.get(0));
     }
 
+    @Test
+    void getOwnedItems_ifItemsHaveBookings_thenSetLastAndNextBooking() {
+        User user = getValidUser();
+        Item item = getValidItem()
+                .toBuilder()
+                .owner(user)
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = Booking.builder()
+                .id(1L)
+                .item(item)
+                .status(BookStatus.APPROVED)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build();
+        Booking next = Booking.builder()
+                .id(2L)
+                .item(item)
+                .status(BookStatus.WAITING)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .build();
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(itemStorage.findByConditionWithCommentsOrder(any(BooleanExpression.class), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(item));
+        when(bookingStorage.findLastAndNextItemBookings(anyCollection(), any())).thenReturn(List.of(next, last));
+
+        var actual = itemService.getOwnedItems(user.getId(), 0, 10);
+
+        assertEquals(1, actual.size());
+        assertEquals(last, actual.get(0).getLastBooking());
+        assertEquals(next, actual.get(0).getNextBooking());
+    }
+
     @Test
     void getAvailableItemsBySubString_ifUserFound_thenReturnList() {
         User user = getValidUser();
@@ -228,15 +281,12 @@ class ItemServiceImplTest {
                 .owner(user)
                 .build();
         when(userStorage.existsById(anyLong())).thenReturn(true);
-        when(itemStorage.findByCondition(any(BooleanExpression.class), anyInt(), anyInt())).thenReturn(List.of(expectedItem));
-        BooleanExpression byTextInNameOrDescription = QItem.item.name.containsIgnoreCase("abc")
-                .or(QItem.item.description.containsIgnoreCase("abc"));
-        BooleanExpression byAvailableTrue = QItem.item.available.isTrue();
+        when(itemSearch.findAvailableBySubString(anyString(), anyInt(), anyInt())).thenReturn(List.of(expectedItem));
 
         var actual = itemService.getAvailableItemsBySubString("abc", user.getId(), 0, 10);
 
         verify(userStorage).existsById(user.getId());
-        verify(itemStorage).findByCondition(byAvailableTrue.and(byTextInNameOrDescription), 0, 10);
+        verify(itemSearch).findAvailableBySubString("abc", 0, 10);
         assertNotNull(actual);
         assertEquals(1, actual.size());
         assertEquals(expectedItem, actual.get(0));
@@ -296,4 +346,38 @@ class ItemServiceImplTest {
         verify(bookingStorage).findAny(any());
         verify(commentStorage).save(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability_ifFromNotBeforeTo_thenThrowBadRequestException() {
+        final LocalDateTime from = LocalDateTime.of(2100, 1, 2, 0, 0);
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> itemService.getItemAvailability(1L, 1L, from, from));
+    }
+
+    @Test
+    void getItemAvailability_ifItemNotFound_thenThrowNotFoundException() {
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(itemStorage.existsById(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemAvailability(1L, 1L,
+                LocalDateTime.of(2100, 1, 1, 0, 0), LocalDateTime.of(2100, 1, 2, 0, 0)));
+    }
+
+    @Test
+    void getItemAvailability_ifInvoked_thenReturnBusyAndFreeFromCachedTree() {
+        final LocalDateTime from = LocalDateTime.of(2100, 1, 1, 0, 0);
+        final LocalDateTime to = LocalDateTime.of(2100, 1, 10, 0, 0);
+        BookedInterval booked = new BookedInterval(1L, BookStatus.APPROVED,
+                LocalDateTime.of(2100, 1, 3, 0, 0), LocalDateTime.of(2100, 1, 4, 0, 0));
+        when(userStorage.existsById(anyLong())).thenReturn(true);
+        when(itemStorage.existsById(anyLong())).thenReturn(true);
+        when(itemAvailabilityCache.get(anyLong())).thenReturn(IntervalTree.of(List.of(booked)));
+
+        ItemAvailability actual = itemService.getItemAvailability(1L, 2L, from, to);
+
+        verify(itemAvailabilityCache).get(1L);
+        assertEquals(List.of(booked), actual.getBusy());
+        assertEquals(2, actual.getFree().size());
+    }
+}
@@ -2,30 +2,41 @@ package ru.practicum.shareit.item.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.common.PageVersions;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.item.storage.ItemStorage;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @TestPropertySource(properties = {
-        "spring.jpa.hibernate.ddl-auto=validate"
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
 })
 class ItemStorageTest {
 
     @Autowired
     private ItemStorage itemStorage;
 
+    @Autowired
+    private EntityManager em;
+
     @Test
     @Sql({"/item-storage-test.sql"})
     void findByCondition_ifInvoked_thenReturnWithCondition() {
@@ -130,6 +141,26 @@ class ItemStorageTest {
         assertEquals(1, actual.get(0).getId());
     }
 
+    @Test
+    @Sql({"/item-storage-pagination-test.sql"})
+    void findByConditionWithCommentsOrder_ifManyItems_thenLoadOnlyPage() {
+        BooleanExpression condition = QItem.item.owner.id.eq(1L);
+        OrderSpecifier<Long> order = QItem.item.id.asc();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Item> actual = itemStorage.findByConditionWithCommentsOrder(condition, order, 10, 2);
+
+        assertEquals(2, actual.size());
+        assertEquals(11, actual.get(0).getId());
+        assertEquals(12, actual.get(1).getId());
+        assertEquals(10, actual.get(0).getComments().size());
+        assertEquals(10, actual.get(1).getComments().size());
+        // 2 вещи + 20 отзывов + 1 автор, а не все 100 вещей и 1000 отзывов
+        assertEquals(23, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @Sql({"/item-storage-test.sql"})
     void findByConditionWithCommentsOrder_ifInvoked_thenReturnWithComments() {
@@ -145,4 +176,76 @@ class ItemStorageTest {
         assertEquals(1, actual.getComments().size());
         assertEquals(1, actual.getComments().get(0).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql({"/item-storage-test.sql"})
+    void findByConditionWithRequestOrder_ifInvoked_thenReturnWithConditionAndOrder() {
+        BooleanExpression condition = QItem.item.available.isTrue();
+
+        List<Item> actual = itemStorage.findByConditionWithRequestOrder(condition, QItem.item.id.desc(), 0, 1);
+
+        assertEquals(1, actual.size());
+        assertEquals(3, actual.get(0).getId());
+    }
+
+    @Test
+    @Sql({"/item-storage-test.sql"})
+    void findByIdForUpdate_ifInvoked_thenReturnItem() {
+        Optional<Item> actual = itemStorage.findByIdForUpdate(2L);
+
+        assertTrue(actual.isPresent());
+        assertEquals(2L, actual.get().getId());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findByBookingIdForUpdate_ifInvoked_thenReturnBookingItem() {
+        Optional<Item> actual = itemStorage.findByBookingIdForUpdate(2L);
+
+        assertTrue(actual.isPresent());
+        assertEquals(1L, actual.get().getId());
+    }
+
+    @Test
+    @Sql({"/booking-storage-test.sql"})
+    void findByBookingIdForUpdate_ifBookingNotFound_thenReturnEmpty() {
+        Optional<Item> actual = itemStorage.findByBookingIdForUpdate(100L);
+
+        assertFalse(actual.isPresent());
+    }
+
+    @Test
+    @Sql({"/item-storage-test.sql"})
+    void incrementVersion_ifInvoked_thenIncrementOnlyMatchedItems() {
+        long updated = itemStorage.incrementVersion(QItem.item.available.isTrue());
+
+        assertEquals(2, updated);
+        assertEquals(new ItemVersion(1L, 1L), itemStorage.findVersion(1L).orElseThrow());
+        assertEquals(new ItemVersion(1L, 0L), itemStorage.findVersion(2L).orElseThrow());
+        assertEquals(new ItemVersion(1L, 1L), itemStorage.findVersion(3L).orElseThrow());
+    }
+
+    @Test
+    @Sql({"/item-storage-test.sql"})
+    void findVersion_ifItemNotFound_thenReturnEmpty() {
+        assertFalse(itemStorage.findVersion(100L).isPresent());
+    }
+
+    @Test
+    @Sql({"/item-storage-test.sql"})
+    void findPageVersions_ifVersionIncremented_thenOnlyThatPageChanged() {
+        PageVersions first = itemStorage.findPageVersions(QItem.item.owner.id.eq(1L), QItem.item.id.asc(), 0, 2);
+        PageVersions second = itemStorage.findPageVersions(QItem.item.owner.id.eq(1L), QItem.item.id.asc(), 2, 2);
+
+        itemStorage.incrementVersion(QItem.item.id.eq(2L));
+
+        assertEquals(List.of(1L, 2L), first.getIds());
+        assertEquals(List.of(0L, 0L), first.getVersions());
+        assertEquals(List.of(0L, 1L),
+                itemStorage.findPageVersions(QItem.item.owner.id.eq(1L), QItem.item.id.asc(), 0, 2).getVersions());
+        assertEquals(second,
+                itemStorage.findPageVersions(QItem.item.owner.id.eq(1L), QItem.item.id.asc(), 2, 2));
+        assertTrue(itemStorage.findPageVersions(QItem.item.owner.id.eq(2L), QItem.item.id.asc(), 0, 2)
+                .getIds().isEmpty());
+    }
+}
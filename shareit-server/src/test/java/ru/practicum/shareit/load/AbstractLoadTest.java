@@ -0,0 +1,104 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочный тест: USERS одновременных пользователей, каждый выполняет REQUESTS_PER_USER запросов подряд.
+ * Измеряются пиковое число потоков JVM и p99 времени ответа. Запуск на JVM 21 (иначе тест
+ * виртуальных потоков пропускается): JAVA21_HOME=/path/to/jdk-21 mvn -pl shareit-server -am test -Pload-test
+ */
+@Slf4j
+// потоки закрытого контекста не попадают в пик потоков следующего теста
+@DirtiesContext
+@Sql("/user-service-it-test.sql")
+abstract class AbstractLoadTest {
+    private static final int USERS = 2000;
+    private static final int REQUESTS_PER_USER = 10;
+
+    @LocalServerPort
+    private int port;
+
+    protected LoadResult runLoad() throws Exception {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            AtomicInteger peakThreads = new AtomicInteger(threads.getThreadCount());
+            sampler.scheduleAtFixedRate(
+                    () -> peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max),
+                    0, 10, TimeUnit.MILLISECONDS);
+
+            long[] latencies = new long[USERS * REQUESTS_PER_USER];
+            AtomicInteger next = new AtomicInteger();
+            List<CompletableFuture<Void>> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                CompletableFuture<Void> user = CompletableFuture.completedFuture(null);
+                for (int j = 0; j < REQUESTS_PER_USER; j++) {
+                    user = user.thenCompose(ignored -> {
+                        long start = System.nanoTime();
+                        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                .thenAccept(response -> {
+                                    assertEquals(200, response.statusCode());
+                                    latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                                });
+                    });
+                }
+                users.add(user);
+            }
+            CompletableFuture.allOf(users.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+
+            Arrays.sort(latencies);
+            long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+            return new LoadResult(peakThreads.get(), TimeUnit.NANOSECONDS.toMillis(p99));
+        } finally {
+            sampler.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    protected static void report(String mode, LoadResult result) {
+        log.info("{}: пользователей={}, пик потоков JVM={}, p99={} мс",
+                mode, USERS, result.peakThreads, result.p99Millis);
+    }
+
+    protected static class LoadResult {
+        final int peakThreads;
+        final long p99Millis;
+
+        LoadResult(int peakThreads, long p99Millis) {
+            this.peakThreads = peakThreads;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
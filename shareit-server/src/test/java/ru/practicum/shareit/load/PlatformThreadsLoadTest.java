@@ -0,0 +1,19 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "shareit.virtual-threads.enabled=false",
+                "logging.level.org.springframework=WARN"
+        })
+@EnabledIfSystemProperty(named = "shareit.load-test", matches = "true")
+class PlatformThreadsLoadTest extends AbstractLoadTest {
+
+    @Test
+    void getUserById_ifPlatformThreads_thenReport() throws Exception {
+        report("Платформенные потоки", runLoad());
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "shareit.virtual-threads.enabled=true",
+                "logging.level.org.springframework=WARN"
+        })
+@EnabledIfSystemProperty(named = "shareit.load-test", matches = "true")
+@EnabledIf("ru.practicum.shareit.library.api.thread.VirtualThreads#isSupported")
+class VirtualThreadsLoadTest extends AbstractLoadTest {
+
+    @Test
+    void getUserById_ifVirtualThreads_thenReport() throws Exception {
+        report("Виртуальные потоки", runLoad());
+    }
+}
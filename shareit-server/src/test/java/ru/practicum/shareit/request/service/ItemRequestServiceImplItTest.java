@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,6 +16,9 @@ class ItemRequestServiceImplItTest {
     @Autowired
     private ItemRequestService itemRequestService;
 
+    @Autowired
+    private ItemService itemService;
+
     @Test
     @Sql("/item-request-service-it-test.sql")
     void getItemRequests() {
@@ -24,4 +29,28 @@ class ItemRequestServiceImplItTest {
         assertEquals(3, actual.get(0).getId());
         assertEquals(1, actual.get(1).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/item-request-service-it-test.sql")
+    void getItemRequestETag_ifResponseItemUpdated_thenReturnNewTag() {
+        String request = itemRequestService.getItemRequestETag(1L, 1L).orElseThrow();
+        String owned = itemRequestService.getOwnedItemRequestsETag(2L).orElseThrow();
+        String all = itemRequestService.getItemRequestsETag(1L, 0, 20).orElseThrow();
+        String otherRequest = itemRequestService.getItemRequestETag(3L, 1L).orElseThrow();
+
+        itemService.checkOwnerAndUpdateItem(Item.builder().id(3L).available(false).build(), 1L);
+
+        assertNotEquals(request, itemRequestService.getItemRequestETag(1L, 1L).orElseThrow());
+        assertNotEquals(owned, itemRequestService.getOwnedItemRequestsETag(2L).orElseThrow());
+        assertNotEquals(all, itemRequestService.getItemRequestsETag(1L, 0, 20).orElseThrow());
+        assertEquals(otherRequest, itemRequestService.getItemRequestETag(3L, 1L).orElseThrow());
+    }
+
+    @Test
+    @Sql("/item-request-service-it-test.sql")
+    void getItemRequestETag_ifUserOrRequestNotFound_thenReturnEmpty() {
+        assertTrue(itemRequestService.getItemRequestETag(1L, 10000L).isEmpty());
+        assertTrue(itemRequestService.getItemRequestETag(10000L, 1L).isEmpty());
+        assertTrue(itemRequestService.getOwnedItemRequestsETag(10000L).isEmpty());
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request.storage;
 
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -11,6 +13,7 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.QItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,13 +25,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @TestPropertySource(properties = {
-        "spring.jpa.hibernate.ddl-auto=validate"
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
 })
 class ItemRequestStorageTest {
 
     @Autowired
     ItemRequestStorage itemRequestStorage;
 
+    @Autowired
+    EntityManager em;
+
     @Test
     @Sql({"/item-request-storage-test.sql"})
     void findAllFetchItems_ifInvoked_thenReturnWithConditionAndOrder() {
@@ -87,6 +94,26 @@ class ItemRequestStorageTest {
         assertEquals(3, actual.get(0).getId());
     }
 
+    @Test
+    @Sql({"/item-request-storage-pagination-test.sql"})
+    void findAllFetchItemsPagination_ifManyRequests_thenLoadOnlyPage() {
+        BooleanExpression condition = QItemRequest.itemRequest.user.id.eq(2L);
+        OrderSpecifier<LocalDateTime> order = QItemRequest.itemRequest.created.desc();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequest> actual = itemRequestStorage.findAllFetchItemsPagination(condition, order, 2, 2);
+
+        assertEquals(2, actual.size());
+        assertEquals(98, actual.get(0).getId());
+        assertEquals(97, actual.get(1).getId());
+        assertEquals(3, actual.get(0).getItems().size());
+        assertEquals(3, actual.get(1).getItems().size());
+        // 2 запроса + 6 вещей, а не все 100 запросов и 300 вещей
+        assertEquals(8, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
     @Test
     @Sql({"/item-request-storage-test.sql"})
     void findAnyFetch_ifInvoked_thenReturnWithCondition() {
@@ -6,24 +6,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.user.dto.CreateUserDto;
 import ru.practicum.shareit.library.api.user.dto.UpdateUserDto;
 import ru.practicum.shareit.library.api.user.dto.UserDto;
+import ru.practicum.shareit.library.api.wire.WireFormat;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserControllerImpl.class)
@@ -41,6 +46,9 @@ class UserControllerImplTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
     private CreateUserDto getValidCreateUserDto() {
         return CreateUserDto.builder()
                 .name("name")
@@ -102,6 +110,37 @@ class UserControllerImplTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void createUser_ifSmileBody_thenReadBodyAndRespondSmile() throws Exception {
+        when(userMapper.mapCreateUserDtoToUser(any())).thenReturn(getValidNewUser());
+        when(userMapper.mapUserToUserDto(any(User.class))).thenReturn(getValidUserDto());
+        when(userService.createUser(any())).thenReturn(getValidUser());
+        MediaType smile = WireFormat.SMILE.getMediaType();
+        ObjectMapper smileMapper = smileConverter.getObjectMapper();
+
+        byte[] body = mockMvc.perform(post("/users")
+                        .contentType(smile)
+                        .accept(smile, MediaType.APPLICATION_JSON)
+                        .content(smileMapper.writeValueAsBytes(getValidCreateUserDto())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals("name@e.mail", smileMapper.readValue(body, Map.class).get("email"));
+    }
+
+    @Test
+    void getUserById_ifAcceptAny_thenRespondJson() throws Exception {
+        when(userMapper.mapUserToUserDto(any(User.class))).thenReturn(getValidUserDto());
+        when(userService.getUserById(1L)).thenReturn(Optional.of(getValidUser()));
+
+        mockMvc.perform(get("/users/1").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void getUserById_isAvailable() throws Exception {
         when(userMapper.mapUserToUserDto(any(User.class))).thenReturn(getValidUserDto());
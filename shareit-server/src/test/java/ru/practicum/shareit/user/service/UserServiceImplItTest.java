@@ -1,14 +1,22 @@
 package ru.practicum.shareit.user.service;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.storage.UserIdFilter;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -19,6 +27,18 @@ class UserServiceImplItTest {
     @Autowired
     UserService userService;
 
+    @Autowired
+    UserStorage userStorage;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserIdFilter userIdFilter;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Test
     @Sql("/user-service-it-test.sql")
     void updateUser_ifInvoke_thenUpdate() {
@@ -45,4 +65,55 @@ class UserServiceImplItTest {
 
         assertThrows(DataIntegrityViolationException.class, () -> userService.updateUser(expected));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/user-service-it-test.sql")
+    void createUser_ifEmailDuplicate_thenConflictException() {
+        User duplicate = User.builder()
+                .name("duplicate")
+                .email("OWNER@mail.ru")
+                .build();
+
+        // вставка с id из последовательности выполняется при коммите, а не при save
+        assertThrows(ConflictException.class, () -> userService.createUser(duplicate));
+    }
+
+    @Test
+    @Sql("/user-service-it-test.sql")
+    void existsById_ifUserFoundBefore_thenAnswerWithoutStatements() {
+        assertTrue(userStorage.existsById(1L));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        assertTrue(userStorage.existsById(1L));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Sql("/user-service-it-test.sql")
+    void existsById_ifUserDeleted_thenFalse() {
+        assertTrue(userStorage.existsById(2L));
+
+        userService.deleteUser(2L);
+
+        assertFalse(userStorage.existsById(2L));
+    }
+
+    @Test
+    @Sql("/user-service-it-test.sql")
+    void existsById_ifUserDeletedOnOtherInstance_thenFalseAfterResync() {
+        assertTrue(userStorage.existsById(2L));
+
+        // удаление на другом экземпляре сервера: в обход сервиса и кэшей этого экземпляра
+        jdbcTemplate.update("DELETE FROM users WHERE id = 2");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        assertTrue(userStorage.existsById(2L));
+
+        userIdFilter.resync();
+
+        assertFalse(userStorage.existsById(2L));
+        assertTrue(userStorage.existsById(1L));
+    }
+}
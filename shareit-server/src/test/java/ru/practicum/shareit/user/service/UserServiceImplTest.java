@@ -1,14 +1,23 @@
 package ru.practicum.shareit.user.service;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.library.api.exception.ConflictException;
 import ru.practicum.shareit.library.api.exception.NotFoundException;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserIdFilter;
 import ru.practicum.shareit.user.storage.UserStorage;
 
 import java.util.List;
@@ -29,6 +38,28 @@ class UserServiceImplTest {
     @Mock
     private UserStorage userStorage;
 
+    @Mock
+    private ItemStorage itemStorage;
+
+    @Mock
+    private ItemRequestStorage itemRequestStorage;
+
+    // SessionFactory - это EntityManagerFactory Hibernate
+    @Mock
+    private SessionFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private UserIdFilter userIdFilter;
+
+    @Mock
+    private ItemAvailabilityCache itemAvailabilityCache;
+
+    @Mock
+    private ItemSearch itemSearch;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -65,6 +96,7 @@ class UserServiceImplTest {
         var actual = userService.createUser(expected);
 
         verify(userStorage).save(expected);
+        verify(userIdFilter).onCreated(1L);
         assertNotNull(actual);
         assertEquals(1L, actual.getId());
         assertEquals(expected.getName(), actual.getName());
@@ -153,6 +185,7 @@ class UserServiceImplTest {
 
         verify(userStorage).findById(updates.getId());
         verify(userStorage).save(updates);
+        verify(itemStorage).incrementVersion(any(BooleanExpression.class));
         assertNotNull(actual);
         assertEquals(expected, actual);
     }
@@ -172,6 +205,10 @@ class UserServiceImplTest {
     void deleteUser_ifInvoked_thenDeleteUser() {
         User expected = User.builder().build();
         when(userStorage.findById(anyLong())).thenReturn(Optional.of(expected));
+        when(itemStorage.findIds(any(BooleanExpression.class))).thenReturn(List.of(2L), List.of(3L));
+
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
 
         var actual = userService.deleteUser(1L);
 
@@ -179,6 +216,14 @@ class UserServiceImplTest {
         assertTrue(actual.isPresent());
         verify(userStorage).findById(1L);
         verify(userStorage).deleteById(1L);
+        verify(userIdFilter).onDeleted(1L);
+        verify(itemStorage).incrementVersion(any(BooleanExpression.class));
+        verify(itemRequestStorage).incrementVersion(any(BooleanExpression.class));
+        verify(itemAvailabilityCache).evict(List.of(2L));
+        verify(itemAvailabilityCache).evict(List.of(3L));
+        verify(itemSearch).onItemsDeleted(List.of(2L));
+        verify(secondLevelCache).evictRegion(SecondLevelCacheConfig.ITEMS);
+        verify(secondLevelCache).evictRegion(SecondLevelCacheConfig.REQUESTS);
         assertEquals(expected, actual.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserIdFilterTest {
+    private final UserIdFilter filter = new UserIdFilter(true);
+
+    @Test
+    void addIfNotRemovedSince_ifNoRemovals_thenAdd() {
+        filter.addIfNotRemovedSince(1L, filter.removalStamp());
+
+        assertTrue(filter.contains(1L));
+    }
+
+    @Test
+    void addIfNotRemovedSince_ifRemovedAfterStamp_thenNotAdd() {
+        long stamp = filter.removalStamp();
+        filter.onDeleted(2L);
+
+        filter.addIfNotRemovedSince(1L, stamp);
+
+        assertFalse(filter.contains(1L));
+    }
+
+    @Test
+    void onDeleted_ifCreated_thenNotContains() {
+        filter.onCreated(1L);
+        assertTrue(filter.contains(1L));
+
+        filter.onDeleted(1L);
+
+        assertFalse(filter.contains(1L));
+    }
+
+    @Test
+    void contains_ifDisabled_thenAlwaysFalse() {
+        UserIdFilter disabled = new UserIdFilter(false);
+
+        disabled.onCreated(1L);
+
+        assertFalse(disabled.contains(1L));
+    }
+}